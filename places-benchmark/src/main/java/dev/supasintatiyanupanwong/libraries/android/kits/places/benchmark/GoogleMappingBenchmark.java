@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.benchmark;
+
+import com.google.android.gms.maps.model.LatLng;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.model.GoogleAutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.model.GooglePlace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net.GoogleFetchPlaceRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net.GoogleFetchPlaceResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net.GoogleFindAutocompletePredictionsRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net.GoogleFindAutocompletePredictionsResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.TypeFilter;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
+
+/**
+ * Measures the mapping between Place Kit and the Google Places SDK done on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GoogleMappingBenchmark {
+
+    private static final int PREDICTION_COUNT = 5;
+
+    private FetchPlaceRequest mFetchPlaceRequest;
+    private FindAutocompletePredictionsRequest mFindAutocompletePredictionsRequest;
+
+    private com.google.android.libraries.places.api.net.FetchPlaceResponse mFetchPlaceResponse;
+    private com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse
+            mFindAutocompletePredictionsResponse;
+
+    @Setup
+    public void setUp() {
+        mFetchPlaceRequest = new FetchPlaceRequest.Builder()
+                .setPlaceId("ChIJN1t_tDeuEmsRUsoyG83frY4")
+                .setPlaceFields(Arrays.asList(
+                        Place.Field.ID, Place.Field.NAME, Place.Field.ADDRESS, Place.Field.LAT_LNG))
+                .build();
+        mFindAutocompletePredictionsRequest = new FindAutocompletePredictionsRequest.Builder()
+                .setQuery("coffee")
+                .setCountry("TH")
+                .setTypeFilter(TypeFilter.ESTABLISHMENT)
+                .build();
+
+        mFetchPlaceResponse = com.google.android.libraries.places.api.net.FetchPlaceResponse
+                .newInstance(new com.google.android.libraries.places.api.model.Place(
+                        "ChIJN1t_tDeuEmsRUsoyG83frY4",
+                        "Google Sydney",
+                        "48 Pirrama Rd, Pyrmont NSW 2009, Australia",
+                        new LatLng(-33.866489, 151.1958561)));
+
+        final List<com.google.android.libraries.places.api.model.AutocompletePrediction>
+                predictions = new ArrayList<>();
+        for (int iter = 0; iter < PREDICTION_COUNT; iter++) {
+            predictions.add(new com.google.android.libraries.places.api.model
+                    .AutocompletePrediction(
+                    "place-" + iter, "Coffee " + iter, iter + " Sukhumvit Rd, Bangkok"));
+        }
+        mFindAutocompletePredictionsResponse = com.google.android.libraries.places.api.net
+                .FindAutocompletePredictionsResponse.newInstance(predictions);
+    }
+
+    @Benchmark
+    public Object unwrapPlaceFields() {
+        return GooglePlace.Field.unwrap(mFetchPlaceRequest.getPlaceFields());
+    }
+
+    @Benchmark
+    public Object unwrapFetchPlaceRequest() {
+        return GoogleFetchPlaceRequest.unwrap(mFetchPlaceRequest, null);
+    }
+
+    @Benchmark
+    public Object unwrapFindAutocompletePredictionsRequest() {
+        return GoogleFindAutocompletePredictionsRequest.unwrap(
+                mFindAutocompletePredictionsRequest, null);
+    }
+
+    @Benchmark
+    public void wrapFetchPlaceResponse(Blackhole blackhole) {
+        final Place place = GoogleFetchPlaceResponse.wrap(mFetchPlaceResponse).getPlace();
+        blackhole.consume(place.getName());
+        blackhole.consume(place.getLatitude());
+    }
+
+    /**
+     * A search box showing only the top prediction.
+     */
+    @Benchmark
+    public Object wrapPredictionsReadFirst() {
+        return GoogleFindAutocompletePredictionsResponse.wrap(mFindAutocompletePredictionsResponse)
+                .getAutocompletePredictions()
+                .get(0)
+                .getPrimaryText();
+    }
+
+    /**
+     * A search box showing every prediction.
+     */
+    @Benchmark
+    public void wrapPredictionsReadAll(Blackhole blackhole) {
+        final List<AutocompletePrediction> predictions = GoogleFindAutocompletePredictionsResponse
+                .wrap(mFindAutocompletePredictionsResponse)
+                .getAutocompletePredictions();
+        for (int iter = 0, size = predictions.size(); iter < size; iter++) {
+            blackhole.consume(predictions.get(iter).getPrimaryText());
+        }
+    }
+
+    /**
+     * The ArrayList copy the predictions used to be wrapped into, as a reference for {@link
+     * #wrapPredictionsReadFirst()}.
+     */
+    @Benchmark
+    public Object eagerPredictionsReadFirst() {
+        final List<com.google.android.libraries.places.api.model.AutocompletePrediction>
+                delegates = mFindAutocompletePredictionsResponse.getAutocompletePredictions();
+        final List<AutocompletePrediction> list = new ArrayList<>();
+        for (int iter = 0, size = delegates.size(); iter < size; iter++) {
+            list.add(GoogleAutocompletePrediction.wrap(delegates.get(iter)));
+        }
+        return Collections.unmodifiableList(list).get(0).getPrimaryText();
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.benchmark;
+
+import com.huawei.hms.site.api.model.Coordinate;
+import com.huawei.hms.site.api.model.DetailSearchResponse;
+import com.huawei.hms.site.api.model.QuerySuggestionResponse;
+import com.huawei.hms.site.api.model.Site;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.model.HuaweiAutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.model.HuaweiPlace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.model.HuaweiTypeFilter;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net.HuaweiFetchPlaceRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net.HuaweiFetchPlaceResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net.HuaweiFindAutocompletePredictionsRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net.HuaweiFindAutocompletePredictionsResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.TypeFilter;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
+
+/**
+ * Measures the mapping between Place Kit and HUAWEI Site Kit done on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuaweiMappingBenchmark {
+
+    private static final int PREDICTION_COUNT = 5;
+
+    private FetchPlaceRequest mFetchPlaceRequest;
+    private FindAutocompletePredictionsRequest mFindAutocompletePredictionsRequest;
+
+    private Site mSite;
+    private DetailSearchResponse mDetailSearchResponse;
+    private QuerySuggestionResponse mQuerySuggestionResponse;
+
+    @Setup
+    public void setUp() {
+        mFetchPlaceRequest = new FetchPlaceRequest.Builder()
+                .setPlaceId("C2B35F1B0C0B4D5D8E2F2E4B2B8C1C7A")
+                .setPlaceFields(Arrays.asList(
+                        Place.Field.ID, Place.Field.NAME, Place.Field.ADDRESS, Place.Field.LAT_LNG))
+                .build();
+        mFindAutocompletePredictionsRequest = new FindAutocompletePredictionsRequest.Builder()
+                .setQuery("coffee")
+                .setCountry("TH")
+                .setTypeFilter(TypeFilter.REGIONS)
+                .build();
+
+        mSite = newSite(0);
+        mDetailSearchResponse = new DetailSearchResponse();
+        mDetailSearchResponse.setSite(mSite);
+
+        final List<Site> sites = new ArrayList<>();
+        for (int iter = 0; iter < PREDICTION_COUNT; iter++) {
+            sites.add(newSite(iter));
+        }
+        mQuerySuggestionResponse = new QuerySuggestionResponse();
+        mQuerySuggestionResponse.setSites(sites);
+    }
+
+    @Benchmark
+    public Object unwrapTypeFilter() {
+        return HuaweiTypeFilter.unwrap(mFindAutocompletePredictionsRequest.getTypeFilter());
+    }
+
+    @Benchmark
+    public Object unwrapFetchPlaceRequest() {
+        return HuaweiFetchPlaceRequest.unwrap(mFetchPlaceRequest);
+    }
+
+    @Benchmark
+    public Object unwrapFindAutocompletePredictionsRequest() {
+        return HuaweiFindAutocompletePredictionsRequest.unwrap(mFindAutocompletePredictionsRequest);
+    }
+
+    @Benchmark
+    public void wrapFetchPlaceResponse(Blackhole blackhole) {
+        final Place place = HuaweiFetchPlaceResponse.wrap(mDetailSearchResponse).getPlace();
+        blackhole.consume(place.getName());
+        blackhole.consume(place.getLatitude());
+    }
+
+    @Benchmark
+    public Object snapshotSite() {
+        return HuaweiPlace.snapshot(mSite);
+    }
+
+    /**
+     * A search box showing only the top prediction.
+     */
+    @Benchmark
+    public Object wrapPredictionsReadFirst() {
+        return HuaweiFindAutocompletePredictionsResponse.wrap(mQuerySuggestionResponse)
+                .getAutocompletePredictions()
+                .get(0)
+                .getPrimaryText();
+    }
+
+    /**
+     * A search box showing every prediction.
+     */
+    @Benchmark
+    public void wrapPredictionsReadAll(Blackhole blackhole) {
+        final List<AutocompletePrediction> predictions = HuaweiFindAutocompletePredictionsResponse
+                .wrap(mQuerySuggestionResponse)
+                .getAutocompletePredictions();
+        for (int iter = 0, size = predictions.size(); iter < size; iter++) {
+            blackhole.consume(predictions.get(iter).getPrimaryText());
+        }
+    }
+
+    /**
+     * The ArrayList copy the predictions used to be wrapped into, as a reference for {@link
+     * #wrapPredictionsReadFirst()}.
+     */
+    @Benchmark
+    public Object eagerPredictionsReadFirst() {
+        final List<Site> delegates = mQuerySuggestionResponse.getSites();
+        final List<AutocompletePrediction> list = new ArrayList<>();
+        for (int iter = 0, size = delegates.size(); iter < size; iter++) {
+            list.add(HuaweiAutocompletePrediction.wrap(delegates.get(iter)));
+        }
+        return list.get(0).getPrimaryText();
+    }
+
+
+    private static Site newSite(int index) {
+        final Site site = new Site();
+        site.setSiteId("site-" + index);
+        site.setName("Coffee " + index);
+        site.setFormatAddress(index + " Sukhumvit Rd, Bangkok");
+        site.setLocation(new Coordinate(13.7307 + index, 100.5418 + index));
+        return site;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.libraries.places.api.model;
+
+/**
+ * Stub of the Places SDK class, holding the fields read by the library.
+ */
+public final class AutocompletePrediction {
+
+    private final String mPlaceId;
+    private final String mPrimaryText;
+    private final String mSecondaryText;
+
+    public AutocompletePrediction(String placeId, String primaryText, String secondaryText) {
+        mPlaceId = placeId;
+        mPrimaryText = primaryText;
+        mSecondaryText = secondaryText;
+    }
+
+    public String getPlaceId() {
+        return mPlaceId;
+    }
+
+    /**
+     * @param matchStyle A {@code CharacterStyle} in the SDK, always {@code null} in the library.
+     */
+    public CharSequence getPrimaryText(Object matchStyle) {
+        return mPrimaryText;
+    }
+
+    /**
+     * @param matchStyle A {@code CharacterStyle} in the SDK, always {@code null} in the library.
+     */
+    public CharSequence getSecondaryText(Object matchStyle) {
+        return mSecondaryText;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.libraries.places.api.model;
+
+import com.google.android.gms.maps.model.LatLng;
+
+/**
+ * Stub of the Places SDK class, holding the fields read by the library.
+ */
+public final class Place {
+
+    private final String mId;
+    private final String mName;
+    private final String mAddress;
+    private final LatLng mLatLng;
+
+    public Place(String id, String name, String address, LatLng latLng) {
+        mId = id;
+        mName = name;
+        mAddress = address;
+        mLatLng = latLng;
+    }
+
+    public String getId() {
+        return mId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public String getAddress() {
+        return mAddress;
+    }
+
+    public LatLng getLatLng() {
+        return mLatLng;
+    }
+
+
+    public enum Field {
+        ADDRESS,
+        ADDRESS_COMPONENTS,
+        ID,
+        LAT_LNG,
+        NAME,
+        OPENING_HOURS,
+        PHONE_NUMBER,
+        PHOTO_METADATAS,
+        PLUS_CODE,
+        PRICE_LEVEL,
+        RATING,
+        TYPES,
+        USER_RATINGS_TOTAL,
+        UTC_OFFSET,
+        VIEWPORT,
+        WEBSITE_URI
+    }
+
+}
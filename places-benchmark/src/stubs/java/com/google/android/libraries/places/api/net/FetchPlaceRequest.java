@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.libraries.places.api.net;
+
+import com.google.android.libraries.places.api.model.Place;
+
+import com.google.android.gms.tasks.CancellationToken;
+
+import java.util.List;
+
+/**
+ * Stub of the Places SDK class.
+ */
+public final class FetchPlaceRequest {
+
+    private final String mPlaceId;
+    private final List<Place.Field> mPlaceFields;
+
+    private final CancellationToken mCancellationToken;
+
+    private FetchPlaceRequest(Builder builder) {
+        mPlaceId = builder.mPlaceId;
+        mPlaceFields = builder.mPlaceFields;
+        mCancellationToken = builder.mCancellationToken;
+    }
+
+    public String getPlaceId() {
+        return mPlaceId;
+    }
+
+    public List<Place.Field> getPlaceFields() {
+        return mPlaceFields;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return mCancellationToken;
+    }
+
+    public static Builder builder(String placeId, List<Place.Field> placeFields) {
+        return new Builder(placeId, placeFields);
+    }
+
+
+    public static final class Builder {
+        final String mPlaceId;
+        final List<Place.Field> mPlaceFields;
+        CancellationToken mCancellationToken;
+
+        Builder(String placeId, List<Place.Field> placeFields) {
+            mPlaceId = placeId;
+            mPlaceFields = placeFields;
+        }
+
+        public Builder setCancellationToken(CancellationToken cancellationToken) {
+            mCancellationToken = cancellationToken;
+            return this;
+        }
+
+        public FetchPlaceRequest build() {
+            return new FetchPlaceRequest(this);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.libraries.places.api.net;
+
+import com.google.android.libraries.places.api.model.Place;
+
+/**
+ * Stub of the Places SDK class.
+ */
+public final class FetchPlaceResponse {
+
+    private final Place mPlace;
+
+    private FetchPlaceResponse(Place place) {
+        mPlace = place;
+    }
+
+    public Place getPlace() {
+        return mPlace;
+    }
+
+    public static FetchPlaceResponse newInstance(Place place) {
+        return new FetchPlaceResponse(place);
+    }
+
+}
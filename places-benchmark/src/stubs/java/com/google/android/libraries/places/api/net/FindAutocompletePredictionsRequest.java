@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.libraries.places.api.net;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.libraries.places.api.model.TypeFilter;
+
+/**
+ * Stub of the Places SDK class.
+ */
+public final class FindAutocompletePredictionsRequest {
+
+    private final String mQuery;
+    private final String mCountry;
+    private final TypeFilter mTypeFilter;
+    private final CancellationToken mCancellationToken;
+
+    private FindAutocompletePredictionsRequest(Builder builder) {
+        mQuery = builder.mQuery;
+        mCountry = builder.mCountry;
+        mTypeFilter = builder.mTypeFilter;
+        mCancellationToken = builder.mCancellationToken;
+    }
+
+    public String getQuery() {
+        return mQuery;
+    }
+
+    public String getCountry() {
+        return mCountry;
+    }
+
+    public TypeFilter getTypeFilter() {
+        return mTypeFilter;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return mCancellationToken;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    public static final class Builder {
+        String mQuery;
+        String mCountry;
+        TypeFilter mTypeFilter;
+        CancellationToken mCancellationToken;
+
+        public Builder setQuery(String query) {
+            mQuery = query;
+            return this;
+        }
+
+        public Builder setCountry(String country) {
+            mCountry = country;
+            return this;
+        }
+
+        public Builder setTypeFilter(TypeFilter typeFilter) {
+            mTypeFilter = typeFilter;
+            return this;
+        }
+
+        public Builder setCancellationToken(CancellationToken cancellationToken) {
+            mCancellationToken = cancellationToken;
+            return this;
+        }
+
+        public FindAutocompletePredictionsRequest build() {
+            return new FindAutocompletePredictionsRequest(this);
+        }
+    }
+
+}
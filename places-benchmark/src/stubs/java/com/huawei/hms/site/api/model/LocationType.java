@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huawei.hms.site.api.model;
+
+/**
+ * Stub of the Site Kit enum, limited to the types mapped by the library.
+ */
+public enum LocationType {
+    ADMINISTRATIVE_AREA_LEVEL_1,
+    ADMINISTRATIVE_AREA_LEVEL_2,
+    ADMINISTRATIVE_AREA_LEVEL_3,
+    COUNTRY,
+    ESTABLISHMENT,
+    GEOCODE,
+    LOCALITY,
+    POSTAL_CODE,
+    STREET_ADDRESS,
+    SUBLOCALITY
+}
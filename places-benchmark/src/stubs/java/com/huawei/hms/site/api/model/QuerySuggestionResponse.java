@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huawei.hms.site.api.model;
+
+import java.util.List;
+
+/**
+ * Stub of the Site Kit class.
+ */
+public class QuerySuggestionResponse {
+
+    private List<Site> mSites;
+
+    public List<Site> getSites() {
+        return mSites;
+    }
+
+    public void setSites(List<Site> sites) {
+        mSites = sites;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.huawei.hms.site.api.model;
+
+/**
+ * Stub of the Site Kit class, holding the fields read by the library.
+ */
+public class Site {
+
+    private String mSiteId;
+    private String mName;
+    private String mFormatAddress;
+    private Coordinate mLocation;
+
+    public String getSiteId() {
+        return mSiteId;
+    }
+
+    public void setSiteId(String siteId) {
+        mSiteId = siteId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public void setName(String name) {
+        mName = name;
+    }
+
+    public String getFormatAddress() {
+        return mFormatAddress;
+    }
+
+    public void setFormatAddress(String formatAddress) {
+        mFormatAddress = formatAddress;
+    }
+
+    public Coordinate getLocation() {
+        return mLocation;
+    }
+
+    public void setLocation(Coordinate location) {
+        mLocation = location;
+    }
+
+}
@@ -20,8 +20,16 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.metrics.InstrumentedPlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.metrics.PlacesMetrics;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.HedgingPlacesClient;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
 
 /**
  * The main entry point for Place Kit APIs.
@@ -30,16 +38,85 @@ import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient
  */
 public final class PlaceKit {
 
-    private static final PlacesFactory FACTORY = PlacesPlatform.get().getFactory();
-
     /**
      * Creates an instance of {@link PlacesClient} for a given {@link Context}.
+     * <p>
+     * The first call finds the supported platform if it isn't found yet, blocking until it is.
+     * <p>
+     * Clients are lightweight handles to a single provider SDK client shared by the whole
+     * application, along with its caches and connections, so creating one per screen is cheap.
+     * A handle holds no resources of its own, and needs no cleanup.
+     * <p>
+     * The calls made through the client are reported to {@link PlacesMetrics}.
      *
      * @return an instance of {@link PlacesClient} for a given {@link Context}.
      */
     public static @NonNull PlacesClient createClient(@NonNull Context context) {
+        return createClient(context, new PlacesClientSettings.Builder().build());
+    }
+
+    /**
+     * Creates an instance of {@link PlacesClient} for a given {@link Context}, with the given
+     * settings.
+     *
+     * @return an instance of {@link PlacesClient} for a given {@link Context}.
+     * @see #createClient(Context)
+     * @since 1.1.0
+     */
+    public static @NonNull PlacesClient createClient(
+            @NonNull Context context, @NonNull PlacesClientSettings settings) {
         Preconditions.checkNotNull(context);
-        return FACTORY.createClient(context);
+        Preconditions.checkNotNull(settings);
+        final PlacesFactory factory = PlacesPlatform.get(context).getFactory();
+        return new InstrumentedPlacesClient(
+                factory.createClient(context, settings), factory.getProviderName());
+    }
+
+    /**
+     * Creates an instance of {@link PlacesClient} for each provider supported on this device,
+     * highest priority first, the first one being the client {@link #createClient(Context)}
+     * creates.
+     * <p>
+     * Place IDs are specific to the provider that returned them. Requests across providers are
+     * typically made through a {@link HedgingPlacesClient}.
+     *
+     * @return instances of {@link PlacesClient} for a given {@link Context}, one per provider.
+     */
+    public static @NonNull List<PlacesClient> createClients(@NonNull Context context) {
+        return createClients(context, new PlacesClientSettings.Builder().build());
+    }
+
+    /**
+     * Creates an instance of {@link PlacesClient} for each provider supported on this device,
+     * with the given settings.
+     *
+     * @return instances of {@link PlacesClient} for a given {@link Context}, one per provider.
+     * @see #createClients(Context)
+     * @since 1.1.0
+     */
+    public static @NonNull List<PlacesClient> createClients(
+            @NonNull Context context, @NonNull PlacesClientSettings settings) {
+        Preconditions.checkNotNull(context);
+        Preconditions.checkNotNull(settings);
+        final List<PlacesFactory> factories = PlacesPlatform.get(context).getFactories();
+        final List<PlacesClient> clients = new ArrayList<>(factories.size());
+        for (PlacesFactory factory : factories) {
+            clients.add(new InstrumentedPlacesClient(
+                    factory.createClient(context, settings), factory.getProviderName()));
+        }
+        return clients;
+    }
+
+    /**
+     * Enables or disables the system trace sections of Place Kit, disabled by default.
+     * <p>
+     * When enabled, the mapping of requests and responses, the provider SDK calls and the
+     * dispatch of task listeners show up as {@code PlaceKit.*} sections in Perfetto and
+     * systrace, and each provider round trip as an asynchronous section from API 29. When
+     * disabled, tracing costs a field read per section.
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        PlacesTrace.setEnabled(enabled);
     }
 
 }
@@ -27,7 +27,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 /**
- * Initializes Place Kit on application startup.
+ * Starts initializing Place Kit in the background on application startup.
+ * <p>
+ * Without this provider, Place Kit initializes on the first call to {@link
+ * PlaceKit#createClient(android.content.Context)} instead.
  *
  * @since 1.0.0
  */
@@ -35,8 +38,8 @@ public final class PlaceKitInitProvider extends ContentProvider {
 
     @Override
     public void attachInfo(@NonNull Context context, @NonNull ProviderInfo info) {
-        // super.attachInfo calls onCreate. Fail as early as possible.
-        PlacesPlatform.init(context);
+        // super.attachInfo calls onCreate. Start as early as possible, off the main thread.
+        PlacesPlatform.initAsync(context);
         super.attachInfo(context, info);
     }
 
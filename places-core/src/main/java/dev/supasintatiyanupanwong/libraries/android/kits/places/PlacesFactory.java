@@ -19,9 +19,11 @@ package dev.supasintatiyanupanwong.libraries.android.kits.places;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
@@ -31,6 +33,37 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 @RestrictTo(LIBRARY_GROUP)
 public interface PlacesFactory {
 
-    @NonNull PlacesClient createClient(@NonNull Context context);
+    @NonNull PlacesClient createClient(
+            @NonNull Context context, @NonNull PlacesClientSettings settings);
+
+    /**
+     * Returns the name identifying the provider of this factory in metrics, such as {@code
+     * "google"}.
+     */
+    @NonNull String getProviderName();
+
+
+    /**
+     * Contributes a {@link PlacesFactory} to Place Kit.
+     * <p>
+     * Implementations are discovered with {@link java.util.ServiceLoader}, and so must be public
+     * with a public no-argument constructor, and be registered in the {@code
+     * META-INF/services} resource named after the binary name of this interface.
+     */
+    interface Provider {
+        /**
+         * Returns the priority of this provider. When several providers are supported, the
+         * factory of the one with the highest priority is used.
+         */
+        int getPriority();
+
+        /**
+         * Builds the factory of this provider.
+         *
+         * @return The factory, or {@code null} if this provider isn't supported on this device.
+         * @throws RuntimeException If this provider is supported, but misconfigured.
+         */
+        @Nullable PlacesFactory buildIfSupported(@NonNull Context context);
+    }
 
 }
@@ -17,100 +17,172 @@
 package dev.supasintatiyanupanwong.libraries.android.kits.places;
 
 import android.content.Context;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
 
-import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * @since 1.0.0
  */
-abstract class PlacesPlatform {
+final class PlacesPlatform {
 
-    private static PlacesPlatform sPlatform;
-
-    static synchronized void init(@NonNull Context context) {
-        sPlatform = findPlatform(context);
-    }
-
-    static synchronized @NonNull PlacesPlatform get() {
-        return sPlatform;
-    }
+    private static final String TAG = "PlacesPlatform";
 
+    private static FutureTask<PlacesPlatform> sInit;
 
-    abstract @NonNull PlacesFactory getFactory();
+    private final @NonNull List<PlacesFactory> mFactories;
 
+    private PlacesPlatform(@NonNull List<PlacesFactory> factories) {
+        mFactories = Collections.unmodifiableList(factories);
+    }
 
-    private static @NonNull PlacesPlatform findPlatform(Context context) {
-        PlacesPlatform google = GooglePlacesPlatform.buildIfSupported(context);
-        if (google != null) {
-            return google;
-        }
-
-        PlacesPlatform huawei = HuaweiPlacesPlatform.buildIfSupported(context);
-        if (huawei != null) {
-            return huawei;
+    /**
+     * Starts finding the supported platform on a background thread, unless it is already found
+     * or being found.
+     */
+    static void initAsync(@NonNull Context context) {
+        final FutureTask<PlacesPlatform> init = getInit(context);
+        if (!init.isDone()) {
+            new Thread(init, "PlaceKitInit").start();
         }
+    }
 
-        throw new IllegalStateException(
-                "Can't find supported platform, make sure to include one of the next artifacts:"
-                        + " ':places-google', or ':places-huawei'");
+    /**
+     * Returns the supported platform, finding it on the calling thread if no background
+     * initialization has been started, or waiting for the one in progress otherwise.
+     */
+    static @NonNull PlacesPlatform get(@NonNull Context context) {
+        final FutureTask<PlacesPlatform> init = getInit(context);
+        // No-op when the task is already running or done.
+        init.run();
+        return getUninterruptibly(init);
     }
 
 
-    private static final class GooglePlacesPlatform extends PlacesPlatform {
-        private static final String LIBRARY_PACKAGE_NAME =
-                "dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google";
+    /**
+     * Returns the factory of the supported provider with the highest priority.
+     */
+    @NonNull PlacesFactory getFactory() {
+        return mFactories.get(0);
+    }
 
-        private static PlacesFactory sFactory;
+    /**
+     * Returns the factories of all the supported providers, highest priority first.
+     */
+    @NonNull List<PlacesFactory> getFactories() {
+        return mFactories;
+    }
 
-        private GooglePlacesPlatform() {}
 
-        @Override
-        @NonNull PlacesFactory getFactory() {
-            return sFactory;
+    private static synchronized @NonNull FutureTask<PlacesPlatform> getInit(
+            @NonNull Context context) {
+        if (sInit == null) {
+            final Context appContext = context.getApplicationContext() != null
+                    ? context.getApplicationContext()
+                    : context;
+            sInit = new FutureTask<>(new Callable<PlacesPlatform>() {
+                @Override
+                public PlacesPlatform call() {
+                    return findPlatform(appContext);
+                }
+            });
         }
+        return sInit;
+    }
 
-        static @Nullable PlacesPlatform buildIfSupported(@NonNull Context context) {
-            try {
-                sFactory = Preconditions.checkNotNull(
-                        (PlacesFactory) Class.forName(LIBRARY_PACKAGE_NAME + ".GooglePlacesFactory")
-                                .getMethod("buildIfSupported", Context.class)
-                                .invoke(null, context)
-                );
-
-                return new GooglePlacesPlatform();
-            } catch (Exception ex) {
-                return null;
+    private static @NonNull PlacesPlatform findPlatform(final @NonNull Context context) {
+        // Written this way so that R8 can replace the lookup with direct instantiations.
+        final List<PlacesFactory.Provider> providers = new ArrayList<>();
+        for (PlacesFactory.Provider provider : ServiceLoader.load(
+                PlacesFactory.Provider.class, PlacesFactory.Provider.class.getClassLoader())) {
+            providers.add(provider);
+        }
+        Collections.sort(providers, new Comparator<PlacesFactory.Provider>() {
+            @Override
+            public int compare(PlacesFactory.Provider lhs, PlacesFactory.Provider rhs) {
+                return Integer.compare(rhs.getPriority(), lhs.getPriority());
             }
+        });
+
+        // Probe every provider at once, the one with the highest priority on this thread.
+        final List<FutureTask<PlacesFactory>> probes = new ArrayList<>();
+        for (final PlacesFactory.Provider provider : providers) {
+            probes.add(new FutureTask<>(new Callable<PlacesFactory>() {
+                @Override
+                public PlacesFactory call() {
+                    return provider.buildIfSupported(context);
+                }
+            }));
+        }
+        for (int iter = 1, size = probes.size(); iter < size; iter++) {
+            new Thread(probes.get(iter), "PlaceKitProbe").start();
+        }
+        if (!probes.isEmpty()) {
+            probes.get(0).run();
         }
-    }
-
-    private static final class HuaweiPlacesPlatform extends PlacesPlatform {
-        private static final String LIBRARY_PACKAGE_NAME =
-                "dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei";
-
-        private static PlacesFactory sFactory;
 
-        private HuaweiPlacesPlatform() {}
+        // A provider failing its probe, such as one missing its configuration, is skipped, so
+        // that it only fails the initialization if no other provider is supported.
+        final List<PlacesFactory> factories = new ArrayList<>();
+        RuntimeException firstFailure = null;
+        for (int iter = 0, size = probes.size(); iter < size; iter++) {
+            final PlacesFactory factory;
+            try {
+                factory = getUninterruptibly(probes.get(iter));
+            } catch (RuntimeException ex) {
+                Log.w(TAG, "Failed to probe " + providers.get(iter).getClass().getName(), ex);
+                if (firstFailure == null) {
+                    firstFailure = ex;
+                }
+                continue;
+            }
+            if (factory != null) {
+                factories.add(factory);
+            }
+        }
 
-        @Override
-        @NonNull PlacesFactory getFactory() {
-            return sFactory;
+        if (factories.isEmpty()) {
+            if (firstFailure != null) {
+                throw firstFailure;
+            }
+            throw new IllegalStateException(
+                    "Can't find supported platform, make sure to include one of the next"
+                            + " artifacts: ':places-google', or ':places-huawei'");
         }
+        return new PlacesPlatform(factories);
+    }
 
-        static @Nullable PlacesPlatform buildIfSupported(@NonNull Context context) {
-            try {
-                sFactory = Preconditions.checkNotNull(
-                        (PlacesFactory) Class.forName(LIBRARY_PACKAGE_NAME + ".HuaweiPlacesFactory")
-                                .getMethod("buildIfSupported", Context.class)
-                                .invoke(null, context)
-                );
-
-                return new HuaweiPlacesPlatform();
-            } catch (Exception ex) {
-                return null;
+    private static <V> V getUninterruptibly(@NonNull FutureTask<V> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
             }
         }
     }
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.CancellationToken;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesException;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCanceledListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnFailureListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnSuccessListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+/**
+ * A platform-independent {@link Task} which is completed manually, used by the Place Kit
+ * components that produce results without going through the underlying provider SDK.
+ * <p>
+ * Listeners registered without an explicit {@link Executor} are called on the main thread.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class CompletableTask<TResult> extends Task<TResult> {
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private static final Executor MAIN_THREAD = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            MAIN_HANDLER.post(command);
+        }
+    };
+
+    private final Object mLock = new Object();
+
+    private final List<Runnable> mPendingCallbacks = new ArrayList<>();
+
+    private boolean mComplete;
+    private boolean mCanceled;
+    private @Nullable TResult mResult;
+    private @Nullable Exception mException;
+
+    public CompletableTask() {}
+
+    @Override
+    public boolean isComplete() {
+        synchronized (mLock) {
+            return mComplete;
+        }
+    }
+
+    @Override
+    public boolean isSuccessful() {
+        synchronized (mLock) {
+            return mComplete && !mCanceled && mException == null;
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        synchronized (mLock) {
+            return mCanceled;
+        }
+    }
+
+    @Override
+    public @Nullable TResult getResult() {
+        synchronized (mLock) {
+            checkCompleteLocked();
+            if (mCanceled) {
+                throw new CancellationException("Task is already canceled.");
+            }
+            if (mException != null) {
+                throw new IllegalStateException(mException);
+            }
+            return mResult;
+        }
+    }
+
+    @Override
+    public @Nullable <X extends Throwable> TResult getResult(@NonNull Class<X> exceptionType)
+            throws X {
+        synchronized (mLock) {
+            checkCompleteLocked();
+            if (mCanceled) {
+                throw new CancellationException("Task is already canceled.");
+            }
+            if (exceptionType.isInstance(mException)) {
+                throw exceptionType.cast(mException);
+            }
+            if (mException != null) {
+                throw new IllegalStateException(mException);
+            }
+            return mResult;
+        }
+    }
+
+    @Override
+    public @Nullable Exception getException() {
+        synchronized (mLock) {
+            return mException;
+        }
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnSuccessListener(
+            @NonNull OnSuccessListener<? super TResult> listener) {
+        return addOnSuccessListener(MAIN_THREAD, listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnSuccessListener(
+            @NonNull Executor executor,
+            final @NonNull OnSuccessListener<? super TResult> listener) {
+        return addCallback(executor, new Runnable() {
+            @Override
+            public void run() {
+                if (isSuccessful()) {
+                    listener.onSuccess(getResult());
+                }
+            }
+        });
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnSuccessListener(
+            @NonNull Activity activity, @NonNull OnSuccessListener<? super TResult> listener) {
+        return addOnSuccessListener(new ActivityExecutor(activity), listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnFailureListener(@NonNull OnFailureListener listener) {
+        return addOnFailureListener(MAIN_THREAD, listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnFailureListener(
+            @NonNull Executor executor, final @NonNull OnFailureListener listener) {
+        return addCallback(executor, new Runnable() {
+            @Override
+            public void run() {
+                final Exception exception = getException();
+                if (exception != null) {
+                    listener.onFailure(exception);
+                }
+            }
+        });
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnFailureListener(
+            @NonNull Activity activity, @NonNull OnFailureListener listener) {
+        return addOnFailureListener(new ActivityExecutor(activity), listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnCompleteListener(
+            @NonNull OnCompleteListener<TResult> listener) {
+        return addOnCompleteListener(MAIN_THREAD, listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnCompleteListener(
+            @NonNull Executor executor, final @NonNull OnCompleteListener<TResult> listener) {
+        return addCallback(executor, new Runnable() {
+            @Override
+            public void run() {
+                listener.onComplete(CompletableTask.this);
+            }
+        });
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnCompleteListener(
+            @NonNull Activity activity, @NonNull OnCompleteListener<TResult> listener) {
+        return addOnCompleteListener(new ActivityExecutor(activity), listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnCanceledListener(@NonNull OnCanceledListener listener) {
+        return addOnCanceledListener(MAIN_THREAD, listener);
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnCanceledListener(
+            @NonNull Executor executor, final @NonNull OnCanceledListener listener) {
+        return addCallback(executor, new Runnable() {
+            @Override
+            public void run() {
+                if (isCanceled()) {
+                    listener.onCanceled();
+                }
+            }
+        });
+    }
+
+    @Override
+    public @NonNull Task<TResult> addOnCanceledListener(
+            @NonNull Activity activity, @NonNull OnCanceledListener listener) {
+        return addOnCanceledListener(new ActivityExecutor(activity), listener);
+    }
+
+    /**
+     * Completes this task with the given result, if it is not yet complete.
+     *
+     * @return {@code true} if the result was set, {@code false} if the task is already complete.
+     */
+    public boolean trySetResult(@Nullable TResult result) {
+        synchronized (mLock) {
+            if (mComplete) {
+                return false;
+            }
+            mComplete = true;
+            mResult = result;
+        }
+        dispatchCallbacks();
+        return true;
+    }
+
+    /**
+     * Fails this task with the given exception, if it is not yet complete.
+     *
+     * @return {@code true} if the exception was set, {@code false} if the task is already
+     * complete.
+     */
+    public boolean trySetException(@NonNull Exception exception) {
+        synchronized (mLock) {
+            if (mComplete) {
+                return false;
+            }
+            mComplete = true;
+            mException = exception;
+        }
+        dispatchCallbacks();
+        return true;
+    }
+
+    /**
+     * Cancels this task, if it is not yet complete.
+     *
+     * @return {@code true} if the task was canceled, {@code false} if the task is already
+     * complete.
+     */
+    public boolean trySetCanceled() {
+        synchronized (mLock) {
+            if (mComplete) {
+                return false;
+            }
+            mComplete = true;
+            mCanceled = true;
+        }
+        dispatchCallbacks();
+        return true;
+    }
+
+    /**
+     * Completes this task with the same outcome as the given completed task.
+     *
+     * @return {@code true} if the outcome was set, {@code false} if this task is already complete.
+     */
+    public boolean trySetFrom(@NonNull Task<TResult> completed) {
+        if (completed.isCanceled()) {
+            return trySetCanceled();
+        }
+        final Exception exception = completed.getException();
+        if (exception != null) {
+            return trySetException(exception);
+        }
+        return trySetResult(completed.getResult());
+    }
+
+    /**
+     * Cancels this task as soon as the given token is canceled, unless this task completes
+     * first, which drops the listener it adds to the token.
+     *
+     * @return this task.
+     */
+    public @NonNull CompletableTask<TResult> cancelOn(final @Nullable CancellationToken token) {
+        if (token == null) {
+            return this;
+        }
+
+        final CancellationToken.Listener listener = new CancellationToken.Listener() {
+            @Override
+            public void onCanceled() {
+                trySetCanceled();
+            }
+        };
+        token.addListener(listener);
+        addCallback(DirectExecutor.INSTANCE, new Runnable() {
+            @Override
+            public void run() {
+                token.removeListener(listener);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Fails this task with a {@link PlacesException.Kind#TIMEOUT TIMEOUT} error once the given
+     * time elapses, unless this task completes first, which drops the timer.
+     *
+     * @param timeoutMillis The time this task may take, in milliseconds, or {@code 0} for no
+     * timeout.
+     * @return this task.
+     */
+    public @NonNull CompletableTask<TResult> failAfter(final long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return this;
+        }
+
+        final Runnable timeout = new Runnable() {
+            @Override
+            public void run() {
+                trySetException(new PlacesException(PlacesException.Kind.TIMEOUT,
+                        "Timed out after " + timeoutMillis + " ms"));
+            }
+        };
+        MAIN_HANDLER.postDelayed(timeout, timeoutMillis);
+        addCallback(DirectExecutor.INSTANCE, new Runnable() {
+            @Override
+            public void run() {
+                MAIN_HANDLER.removeCallbacks(timeout);
+            }
+        });
+        return this;
+    }
+
+
+    private @NonNull Task<TResult> addCallback(
+            final @NonNull Executor executor, final @NonNull Runnable callback) {
+        final Runnable command = PlacesTrace.isEnabled() ? new TracedRunnable(callback) : callback;
+        final Runnable dispatch = new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(command);
+            }
+        };
+
+        synchronized (mLock) {
+            if (!mComplete) {
+                mPendingCallbacks.add(dispatch);
+                return this;
+            }
+        }
+
+        dispatch.run();
+        return this;
+    }
+
+    private void dispatchCallbacks() {
+        final List<Runnable> callbacks;
+        synchronized (mLock) {
+            callbacks = new ArrayList<>(mPendingCallbacks);
+            mPendingCallbacks.clear();
+        }
+
+        for (int iter = 0, size = callbacks.size(); iter < size; iter++) {
+            callbacks.get(iter).run();
+        }
+    }
+
+    private void checkCompleteLocked() {
+        if (!mComplete) {
+            throw new IllegalStateException("Task is not yet complete.");
+        }
+    }
+
+
+    public static @NonNull <TResult> CompletableTask<TResult> forResult(
+            @Nullable TResult result) {
+        final CompletableTask<TResult> task = new CompletableTask<>();
+        task.trySetResult(result);
+        return task;
+    }
+
+    public static @NonNull <TResult> CompletableTask<TResult> forException(
+            @NonNull Exception exception) {
+        final CompletableTask<TResult> task = new CompletableTask<>();
+        task.trySetException(exception);
+        return task;
+    }
+
+    public static @NonNull <TResult> CompletableTask<TResult> forCanceled() {
+        final CompletableTask<TResult> task = new CompletableTask<>();
+        task.trySetCanceled();
+        return task;
+    }
+
+
+    private static final class ActivityExecutor implements Executor {
+        private final @NonNull Activity mActivity;
+
+        ActivityExecutor(@NonNull Activity activity) {
+            mActivity = activity;
+        }
+
+        @Override
+        public void execute(final @NonNull Runnable command) {
+            MAIN_THREAD.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!mActivity.isFinishing()) {
+                        command.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private static final class TracedRunnable implements Runnable {
+        private final @NonNull Runnable mDelegate;
+
+        TracedRunnable(@NonNull Runnable delegate) {
+            mDelegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            final boolean traced = PlacesTrace.beginSection(PlacesTrace.DISPATCH);
+            try {
+                mDelegate.run();
+            } finally {
+                PlacesTrace.endSection(traced);
+            }
+        }
+    }
+
+}
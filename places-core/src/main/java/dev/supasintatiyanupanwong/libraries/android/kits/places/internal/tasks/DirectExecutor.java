@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.util.concurrent.Executor;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+/**
+ * An {@link Executor} running commands on the calling thread, for listeners that must observe
+ * a task as soon as it completes rather than once the main thread gets to it.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public enum DirectExecutor implements Executor {
+    INSTANCE;
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        command.run();
+    }
+}
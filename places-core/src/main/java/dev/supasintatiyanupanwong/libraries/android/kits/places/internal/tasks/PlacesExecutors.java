@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+/**
+ * The {@link Executor}s shared by the clients of the library.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class PlacesExecutors {
+
+    private static final int MAPPING_THREADS = 2;
+    private static final int DISK_THREADS = 1;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private PlacesExecutors() {}
+
+    /**
+     * Returns the executor mapping the responses of the provider SDKs, a pool of at most two
+     * background threads, which are let go once idle.
+     */
+    public static @NonNull Executor getMappingExecutor() {
+        return MappingExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the executor reading and writing the files of the library, a single background
+     * thread running the tasks in submission order, which is let go once idle.
+     */
+    public static @NonNull Executor getDiskExecutor() {
+        return DiskExecutorHolder.INSTANCE;
+    }
+
+
+    private static @NonNull Executor createExecutor(final int threads, final @NonNull String name) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger();
+
+                    @Override
+                    public @NonNull Thread newThread(final @NonNull Runnable runnable) {
+                        final Thread thread = new Thread(new Runnable() {
+                            @Override
+                            public void run() {
+                                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                                runnable.run();
+                            }
+                        }, "PlaceKit-" + name + "-" + mCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+    private static final class MappingExecutorHolder {
+        static final Executor INSTANCE = createExecutor(MAPPING_THREADS, "mapping");
+    }
+
+    private static final class DiskExecutorHolder {
+        static final Executor INSTANCE = createExecutor(DISK_THREADS, "disk");
+    }
+
+}
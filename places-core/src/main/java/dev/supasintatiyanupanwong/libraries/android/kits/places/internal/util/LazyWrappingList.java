@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+/**
+ * A read-only view of a list of provider SDK objects, wrapping each element on first access.
+ * <p>
+ * Wrapped elements are cached per index, so repeated access returns the same instance, and
+ * elements never accessed are never wrapped. The cache is safely published, so the list may be
+ * created on one thread and read on another. Concurrent first accesses to the same index may
+ * wrap the element more than once, but only one of the wrappers is ever returned.
+ *
+ * @param <S> The type of the provider SDK objects.
+ * @param <T> The type of the wrapped elements.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class LazyWrappingList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    private final @NonNull List<S> mDelegates;
+    private final @NonNull Wrapper<? super S, ? extends T> mWrapper;
+    private final @NonNull AtomicReferenceArray<T> mWrapped;
+
+    public LazyWrappingList(
+            @NonNull List<S> delegates, @NonNull Wrapper<? super S, ? extends T> wrapper) {
+        mDelegates = delegates;
+        mWrapper = wrapper;
+        mWrapped = new AtomicReferenceArray<>(delegates.size());
+    }
+
+    @Override
+    public T get(int index) {
+        final T wrapped = mWrapped.get(index);
+        if (wrapped != null) {
+            return wrapped;
+        }
+        mWrapped.compareAndSet(index, null, mWrapper.wrap(mDelegates.get(index)));
+        return mWrapped.get(index);
+    }
+
+    @Override
+    public int size() {
+        return mWrapped.length();
+    }
+
+
+    /**
+     * Wraps a provider SDK object.
+     */
+    public interface Wrapper<S, T> {
+        @NonNull T wrap(@NonNull S delegate);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util;
+
+import android.os.Build;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+/**
+ * Emits the system trace sections of Place Kit, shown in Perfetto and systrace.
+ * <p>
+ * Tracing is off until enabled with {@link #setEnabled(boolean)}, and then only costs a field
+ * read per section, with no allocation since all section names are constants. Asynchronous
+ * sections, spanning a provider round trip, are only emitted from API 29.
+ * <p>
+ * Sections are balanced by passing the value returned when beginning them back when ending
+ * them, so that toggling tracing in between never ends a section that wasn't begun:
+ * <pre>
+ * final boolean traced = PlacesTrace.beginSection(PlacesTrace.UNWRAP_REQUEST);
+ * try {
+ *     ...
+ * } finally {
+ *     PlacesTrace.endSection(traced);
+ * }
+ * </pre>
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class PlacesTrace {
+
+    /** Asynchronous section from an autocomplete call to the provider answering it. */
+    public static final String FIND_AUTOCOMPLETE_PREDICTIONS =
+            "PlaceKit.findAutocompletePredictions";
+    /** Asynchronous section from a fetch call to the provider answering it. */
+    public static final String FETCH_PLACE = "PlaceKit.fetchPlace";
+
+    /** Mapping of a request to the one of the provider SDK. */
+    public static final String UNWRAP_REQUEST = "PlaceKit.unwrapRequest";
+    /** Submission of a request to the provider SDK, until the SDK returns control. */
+    public static final String CALL_SDK = "PlaceKit.callSdk";
+    /** Handling of a provider SDK callback, before the result is handed to Place Kit tasks. */
+    public static final String HANDLE_SDK_RESULT = "PlaceKit.handleSdkResult";
+    /** Mapping of a response of the provider SDK. */
+    public static final String WRAP_RESPONSE = "PlaceKit.wrapResponse";
+    /** Call of a task listener registered by the application. */
+    public static final String DISPATCH = "PlaceKit.dispatch";
+
+    private static final AtomicInteger sNextCookie = new AtomicInteger();
+
+    private static volatile boolean sEnabled;
+
+    private PlacesTrace() {}
+
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * Begins a synchronous section on the current thread.
+     *
+     * @return Whether the section was begun, to be passed to {@link #endSection(boolean)}.
+     */
+    public static boolean beginSection(@NonNull String name) {
+        if (!sEnabled) {
+            return false;
+        }
+        Trace.beginSection(name);
+        return true;
+    }
+
+    public static void endSection(boolean begun) {
+        if (begun) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Begins an asynchronous section, which may end on another thread.
+     *
+     * @return The cookie identifying the section, to be passed to {@link
+     * #endAsyncSection(String, int)}, or {@code 0} if it wasn't begun.
+     */
+    public static int beginAsyncSection(@NonNull String name) {
+        if (!sEnabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return 0;
+        }
+        int cookie;
+        do {
+            cookie = sNextCookie.incrementAndGet();
+        } while (cookie == 0);
+        Trace.beginAsyncSection(name, cookie);
+        return cookie;
+    }
+
+    public static void endAsyncSection(@NonNull String name, int cookie) {
+        if (cookie != 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.util.concurrent.CancellationException;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+/**
+ * A {@link PlacesClient} that reports the duration and outcome of every call of the wrapped
+ * client to {@link PlacesMetrics}.
+ * <p>
+ * Calls are timed until their task completes, on the completing thread, so the time spent
+ * waiting for the main thread to deliver the result isn't counted.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class InstrumentedPlacesClient implements PlacesClient {
+
+    private final @NonNull PlacesClient mDelegate;
+    private final @NonNull String mProvider;
+
+    private final @NonNull LatencyHistogram mPredictionsHistogram;
+    private final @NonNull LatencyHistogram mPlaceHistogram;
+
+    /**
+     * @param delegate The client to report the calls of.
+     * @param provider The name of the provider serving the wrapped client.
+     */
+    public InstrumentedPlacesClient(@NonNull PlacesClient delegate, @NonNull String provider) {
+        mDelegate = Preconditions.checkNotNull(delegate);
+        mProvider = Preconditions.checkNotNull(provider);
+        mPredictionsHistogram = PlacesMetrics.getLatencyHistogram(
+                provider, PlacesCallEvent.Operation.FIND_AUTOCOMPLETE_PREDICTIONS);
+        mPlaceHistogram =
+                PlacesMetrics.getLatencyHistogram(provider, PlacesCallEvent.Operation.FETCH_PLACE);
+    }
+
+    /**
+     * Returns the name of the provider serving the wrapped client.
+     */
+    public @NonNull String getProvider() {
+        return mProvider;
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        final long startNanos = System.nanoTime();
+        final Task<FindAutocompletePredictionsResponse> task =
+                mDelegate.findAutocompletePredictions(request);
+        task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new OnCompleteListener<FindAutocompletePredictionsResponse>() {
+                    @Override
+                    public void onComplete(
+                            @NonNull Task<FindAutocompletePredictionsResponse> task) {
+                        final FindAutocompletePredictionsResponse response =
+                                task.isSuccessful() ? task.getResult() : null;
+                        record(PlacesCallEvent.Operation.FIND_AUTOCOMPLETE_PREDICTIONS,
+                                mPredictionsHistogram, startNanos, task,
+                                response != null ? response.getAutocompletePredictions().size()
+                                        : 0);
+                    }
+                });
+        return task;
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        final long startNanos = System.nanoTime();
+        final Task<FetchPlaceResponse> task = mDelegate.fetchPlace(request);
+        task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new OnCompleteListener<FetchPlaceResponse>() {
+                    @Override
+                    public void onComplete(@NonNull Task<FetchPlaceResponse> task) {
+                        final FetchPlaceResponse response =
+                                task.isSuccessful() ? task.getResult() : null;
+                        record(PlacesCallEvent.Operation.FETCH_PLACE, mPlaceHistogram,
+                                startNanos, task, response != null ? 1 : 0);
+                    }
+                });
+        return task;
+    }
+
+
+    private void record(
+            @NonNull PlacesCallEvent.Operation operation,
+            @NonNull LatencyHistogram histogram,
+            long startNanos,
+            @NonNull Task<?> task,
+            int resultCount) {
+        final Exception exception = task.getException();
+        final Class<? extends Exception> errorClass = task.isCanceled()
+                ? CancellationException.class
+                : exception != null ? exception.getClass() : null;
+        PlacesMetrics.record(mProvider, operation, histogram, System.nanoTime() - startNanos,
+                resultCount, errorClass);
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of call durations, cheap enough to record every call.
+ * <p>
+ * Durations are counted in buckets growing exponentially from 1 microsecond, with 4 buckets per
+ * power of two, so that any percentile is reported within 25% of the actual duration over the
+ * range from microseconds to days. The bucket counts can be read with {@link #getCounts()} to be
+ * exported to another telemetry system, along with {@link #getBucketUpperBound(int, TimeUnit)}.
+ *
+ * @since 1.1.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Longer durations, over 12 days, are counted in the last bucket. */
+    private static final int MAX_EXPONENT = 39;
+
+    /** The number of buckets of every histogram. */
+    public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final @NonNull AtomicLongArray mCounts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records a duration.
+     */
+    public void record(long duration, @NonNull TimeUnit unit) {
+        mCounts.incrementAndGet(indexOf(unit.toMicros(duration)));
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int iter = 0; iter < BUCKET_COUNT; iter++) {
+            count += mCounts.get(iter);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the duration under which the given percentage of the recorded durations fall, or
+     * {@code 0} if none has been recorded.
+     *
+     * @param percentile The percentage, between 0 and 100.
+     * @param unit The unit to return the duration in.
+     */
+    public long getPercentile(double percentile, @NonNull TimeUnit unit) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+        }
+
+        final long[] counts = getCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int iter = 0; iter < BUCKET_COUNT; iter++) {
+            seen += counts[iter];
+            if (seen >= rank) {
+                return getBucketUpperBound(iter, unit);
+            }
+        }
+        return getBucketUpperBound(BUCKET_COUNT - 1, unit);
+    }
+
+    /**
+     * Returns a copy of the number of durations recorded in each bucket.
+     */
+    public @NonNull long[] getCounts() {
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int iter = 0; iter < BUCKET_COUNT; iter++) {
+            counts[iter] = mCounts.get(iter);
+        }
+        return counts;
+    }
+
+    /**
+     * Clears all recorded durations.
+     */
+    public void reset() {
+        for (int iter = 0; iter < BUCKET_COUNT; iter++) {
+            mCounts.set(iter, 0);
+        }
+    }
+
+
+    /**
+     * Returns the exclusive upper bound of the durations counted in the given bucket.
+     */
+    public static long getBucketUpperBound(int index, @NonNull TimeUnit unit) {
+        if (index < 0 || index >= BUCKET_COUNT) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+
+        final long micros;
+        if (index < SUB_BUCKETS) {
+            micros = index + 1;
+        } else {
+            final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            final int mantissa = index % SUB_BUCKETS;
+            micros = (long) (SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BUCKET_BITS);
+        }
+        return unit.convert(micros, TimeUnit.MICROSECONDS);
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && micros >= 1L << (MAX_EXPONENT + 1)) {
+            return BUCKET_COUNT - 1;
+        }
+        final int mantissa = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+}
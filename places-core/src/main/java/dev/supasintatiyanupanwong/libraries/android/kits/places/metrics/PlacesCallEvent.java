@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing and outcome of a call made through a client created by {@link
+ * dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit PlaceKit}.
+ *
+ * @since 1.1.0
+ */
+public final class PlacesCallEvent {
+
+    private final @NonNull String mProvider;
+    private final @NonNull Operation mOperation;
+    private final long mDurationNanos;
+    private final int mResultCount;
+    private final @Nullable Class<? extends Exception> mErrorClass;
+
+    PlacesCallEvent(
+            @NonNull String provider,
+            @NonNull Operation operation,
+            long durationNanos,
+            int resultCount,
+            @Nullable Class<? extends Exception> errorClass) {
+        mProvider = provider;
+        mOperation = operation;
+        mDurationNanos = durationNanos;
+        mResultCount = resultCount;
+        mErrorClass = errorClass;
+    }
+
+    /**
+     * Returns the name of the provider that served the call, such as {@code "google"} or {@code
+     * "huawei"}.
+     */
+    public @NonNull String getProvider() {
+        return mProvider;
+    }
+
+    public @NonNull Operation getOperation() {
+        return mOperation;
+    }
+
+    /**
+     * Returns the time between the call and its completion, in the given unit.
+     */
+    public long getDuration(@NonNull TimeUnit unit) {
+        return unit.convert(mDurationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of predictions or places returned by the call, or {@code 0} if it
+     * failed.
+     */
+    public int getResultCount() {
+        return mResultCount;
+    }
+
+    /**
+     * Returns the class of the exception the call failed with, {@link
+     * java.util.concurrent.CancellationException} if it was canceled, or {@code null} if it
+     * succeeded.
+     */
+    public @Nullable Class<? extends Exception> getErrorClass() {
+        return mErrorClass;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "PlacesCallEvent{"
+                + "provider=" + mProvider
+                + ", operation=" + mOperation
+                + ", durationNanos=" + mDurationNanos
+                + ", resultCount=" + mResultCount
+                + ", errorClass=" + (mErrorClass != null ? mErrorClass.getName() : null)
+                + "}";
+    }
+
+
+    /**
+     * The {@link dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient
+     * PlacesClient} methods.
+     */
+    public enum Operation {
+        FIND_AUTOCOMPLETE_PREDICTIONS,
+        FETCH_PLACE
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.metrics;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+
+/**
+ * Collects the metrics of the calls made through the clients created by {@link
+ * dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit PlaceKit}.
+ * <p>
+ * The duration of every call is always recorded into the {@link LatencyHistogram} of its
+ * provider and operation, while the {@link PlacesCallEvent}s are only created when a {@link
+ * PlacesMetricsListener} is registered.
+ *
+ * @since 1.1.0
+ */
+public final class PlacesMetrics {
+
+    private static final String TAG = "PlacesMetrics";
+
+    private static final List<PlacesMetricsListener> sListeners = new CopyOnWriteArrayList<>();
+
+    private static final ConcurrentMap<String, LatencyHistogram> sHistograms =
+            new ConcurrentHashMap<>();
+
+    private PlacesMetrics() {}
+
+    /**
+     * Registers a listener to be notified of every completed call, on the thread completing it.
+     * An exception thrown by the listener is logged, rather than failing the call or skipping
+     * the other listeners.
+     */
+    public static void addListener(@NonNull PlacesMetricsListener listener) {
+        sListeners.add(Preconditions.checkNotNull(listener));
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #addListener(PlacesMetricsListener)}.
+     */
+    public static void removeListener(@NonNull PlacesMetricsListener listener) {
+        sListeners.remove(listener);
+    }
+
+    /**
+     * Returns the histogram of the durations of the calls of the given operation served by the
+     * given provider, which keeps counting for the lifetime of the process.
+     *
+     * @param provider The name of the provider, as reported by {@link
+     * PlacesCallEvent#getProvider()}.
+     * @param operation The operation of interest.
+     */
+    public static @NonNull LatencyHistogram getLatencyHistogram(
+            @NonNull String provider, @NonNull PlacesCallEvent.Operation operation) {
+        final String key = provider + '/' + operation.name();
+        LatencyHistogram histogram = sHistograms.get(key);
+        if (histogram == null) {
+            final LatencyHistogram created = new LatencyHistogram();
+            histogram = sHistograms.putIfAbsent(key, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+
+    static void record(
+            @NonNull String provider,
+            @NonNull PlacesCallEvent.Operation operation,
+            @NonNull LatencyHistogram histogram,
+            long durationNanos,
+            int resultCount,
+            @Nullable Class<? extends Exception> errorClass) {
+        histogram.record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (sListeners.isEmpty()) {
+            return;
+        }
+        final PlacesCallEvent event = new PlacesCallEvent(provider, operation, durationNanos,
+                resultCount, errorClass);
+        for (PlacesMetricsListener listener : sListeners) {
+            try {
+                listener.onCallCompleted(event);
+            } catch (RuntimeException ex) {
+                Log.e(TAG, "Listener " + listener + " failed on " + event, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.metrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Receives an event for every call made through the clients created by {@link
+ * dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit PlaceKit}.
+ * <p>
+ * Events are delivered on the thread the call completed on, which may be the main thread, so
+ * implementations must be thread-safe and return quickly.
+ *
+ * @since 1.1.0
+ */
+public interface PlacesMetricsListener {
+
+    /**
+     * Called when a call completes, whether it succeeded or not.
+     *
+     * @param event The timing and outcome of the call.
+     */
+    void onCallCompleted(@NonNull PlacesCallEvent event);
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable {@link Place} detached from the provider SDK object it was read from.
+ * <p>
+ * A snapshot only holds the fields it was built with, out of {@link Field#ID}, {@link
+ * Field#NAME}, {@link Field#ADDRESS} and {@link Field#LAT_LNG}, with the location kept as
+ * primitives and the strings shared between snapshots. It is meant for places kept around for
+ * long, such as in caches, where retaining the full provider object would be wasteful.
+ *
+ * @since 1.1.0
+ */
+public final class PlaceSnapshot implements Place {
+
+    private static final WeakHashMap<String, WeakReference<String>> sStrings =
+            new WeakHashMap<>();
+
+    private final int mFields;
+    private final @Nullable String mId;
+    private final @Nullable String mName;
+    private final @Nullable String mAddress;
+    private final double mLatitude;
+    private final double mLongitude;
+
+    private PlaceSnapshot(@NonNull Builder builder) {
+        mFields = builder.mFields;
+        mId = intern(builder.mId);
+        mName = intern(builder.mName);
+        mAddress = intern(builder.mAddress);
+        mLatitude = builder.mLatitude;
+        mLongitude = builder.mLongitude;
+    }
+
+    @Override
+    public @Nullable String getId() {
+        return mId;
+    }
+
+    @Override
+    public @Nullable String getName() {
+        return mName;
+    }
+
+    @Override
+    public @Nullable String getAddress() {
+        return mAddress;
+    }
+
+    @Override
+    public double getLatitude() {
+        return mLatitude;
+    }
+
+    @Override
+    public double getLongitude() {
+        return mLongitude;
+    }
+
+    /**
+     * Returns whether this snapshot holds all of the given fields.
+     */
+    public boolean hasFields(@NonNull List<Field> fields) {
+        for (int iter = 0, size = fields.size(); iter < size; iter++) {
+            if ((mFields & maskOf(fields.get(iter))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        PlaceSnapshot that = (PlaceSnapshot) obj;
+
+        return mFields == that.mFields
+                && Objects.equals(mId, that.mId)
+                && Objects.equals(mName, that.mName)
+                && Objects.equals(mAddress, that.mAddress)
+                && Double.compare(mLatitude, that.mLatitude) == 0
+                && Double.compare(mLongitude, that.mLongitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mFields, mId, mName, mAddress, mLatitude, mLongitude);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "PlaceSnapshot{"
+                + "id=" + mId
+                + ", name=" + mName
+                + ", address=" + mAddress
+                + ", latitude=" + mLatitude
+                + ", longitude=" + mLongitude
+                + "}";
+    }
+
+
+    /**
+     * Returns a snapshot of all the fields of the given place a snapshot can hold.
+     */
+    public static @NonNull PlaceSnapshot of(@NonNull Place place) {
+        if (place instanceof PlaceSnapshot) {
+            return (PlaceSnapshot) place;
+        }
+
+        final Builder builder = new Builder()
+                .setLatLng(place.getLatitude(), place.getLongitude());
+        if (place.getId() != null) {
+            builder.setId(place.getId());
+        }
+        if (place.getName() != null) {
+            builder.setName(place.getName());
+        }
+        if (place.getAddress() != null) {
+            builder.setAddress(place.getAddress());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a snapshot of the given fields of the given place, typically the fields it was
+     * requested with.
+     */
+    public static @NonNull PlaceSnapshot of(@NonNull Place place, @NonNull List<Field> fields) {
+        final Builder builder = new Builder();
+        if (fields.contains(Field.ID) && place.getId() != null) {
+            builder.setId(place.getId());
+        }
+        if (fields.contains(Field.NAME) && place.getName() != null) {
+            builder.setName(place.getName());
+        }
+        if (fields.contains(Field.ADDRESS) && place.getAddress() != null) {
+            builder.setAddress(place.getAddress());
+        }
+        if (fields.contains(Field.LAT_LNG)) {
+            builder.setLatLng(place.getLatitude(), place.getLongitude());
+        }
+        return builder.build();
+    }
+
+
+    private static int maskOf(@NonNull Field field) {
+        return 1 << field.ordinal();
+    }
+
+    /**
+     * Returns the instance equal to the given string shared by every snapshot, so that places
+     * cached several times, or sharing an address, don't hold copies of the same characters.
+     */
+    private static @Nullable String intern(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        synchronized (sStrings) {
+            final WeakReference<String> ref = sStrings.get(value);
+            final String shared = ref != null ? ref.get() : null;
+            if (shared != null) {
+                return shared;
+            }
+            sStrings.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+
+    /**
+     * Builder for {@link PlaceSnapshot}.
+     */
+    public static class Builder {
+        int mFields;
+        String mId;
+        String mName;
+        String mAddress;
+        double mLatitude;
+        double mLongitude;
+
+        public @NonNull Builder setId(@NonNull String id) {
+            mId = id;
+            mFields |= maskOf(Field.ID);
+            return this;
+        }
+
+        public @NonNull Builder setName(@NonNull String name) {
+            mName = name;
+            mFields |= maskOf(Field.NAME);
+            return this;
+        }
+
+        public @NonNull Builder setAddress(@NonNull String address) {
+            mAddress = address;
+            mFields |= maskOf(Field.ADDRESS);
+            return this;
+        }
+
+        public @NonNull Builder setLatLng(double latitude, double longitude) {
+            mLatitude = latitude;
+            mLongitude = longitude;
+            mFields |= maskOf(Field.LAT_LNG);
+            return this;
+        }
+
+        public @NonNull PlaceSnapshot build() {
+            return new PlaceSnapshot(this);
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * Drives autocomplete predictions for a search-as-you-type UI.
+ * <p>
+ * Each call to {@link #findAutocompletePredictions(FindAutocompletePredictionsRequest)}
+ * supersedes the previous one. The request is only sent once no newer request arrives within
+ * the debounce delay, and only the outcome of the latest request is delivered to the {@link
+ * Callback}, regardless of the order in which the provider answers. Superseded requests still in
+ * flight are canceled, unless they carry a {@link CancellationToken} of their own.
+ * <p>
+ * This class must be used from the main thread, where the {@link Callback} is also called.
+ *
+ * @since 1.1.0
+ */
+@MainThread
+public final class AutocompleteSession {
+
+    private final @NonNull PlacesClient mClient;
+    private final @NonNull Callback mCallback;
+    private final long mDebounceDelayMillis;
+
+    private final @NonNull Handler mHandler = new Handler(Looper.getMainLooper());
+
+    private int mGeneration;
+    private @Nullable CancellationTokenSource mInFlightCancellation;
+
+    private AutocompleteSession(@NonNull Builder builder) {
+        mClient = builder.mClient;
+        mCallback = builder.mCallback;
+        mDebounceDelayMillis = builder.mDebounceDelayMillis;
+    }
+
+    /**
+     * Schedules the given request to be sent after the debounce delay, superseding any request
+     * that is still pending or in flight.
+     *
+     * @param request The request specifying details of the autocomplete query.
+     */
+    public void findAutocompletePredictions(
+            final @NonNull FindAutocompletePredictionsRequest request) {
+        Preconditions.checkNotNull(request);
+
+        final int generation = supersede();
+        mHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                send(request, generation);
+            }
+        }, mDebounceDelayMillis);
+    }
+
+    /**
+     * Cancels any pending request, and the request in flight, if any.
+     */
+    public void cancel() {
+        supersede();
+    }
+
+
+    private int supersede() {
+        mHandler.removeCallbacksAndMessages(null);
+        if (mInFlightCancellation != null) {
+            mInFlightCancellation.cancel();
+            mInFlightCancellation = null;
+        }
+        return ++mGeneration;
+    }
+
+    private void send(
+            final @NonNull FindAutocompletePredictionsRequest request, final int generation) {
+        FindAutocompletePredictionsRequest sent = request;
+        if (request.getCancellationToken() == null) {
+            mInFlightCancellation = new CancellationTokenSource();
+            sent = request.withCancellationToken(mInFlightCancellation.getToken());
+        }
+
+        mClient.findAutocompletePredictions(sent).addOnCompleteListener(
+                new OnCompleteListener<FindAutocompletePredictionsResponse>() {
+                    @Override
+                    public void onComplete(
+                            @NonNull Task<FindAutocompletePredictionsResponse> task) {
+                        if (generation != mGeneration || task.isCanceled()) {
+                            return;
+                        }
+                        mInFlightCancellation = null;
+
+                        final Exception exception = task.getException();
+                        if (exception != null) {
+                            mCallback.onError(request, exception);
+                            return;
+                        }
+
+                        final FindAutocompletePredictionsResponse response = task.getResult();
+                        if (response != null) {
+                            mCallback.onPredictions(request, response);
+                        }
+                    }
+                });
+    }
+
+
+    /**
+     * Receives the outcome of the latest request of an {@link AutocompleteSession}.
+     */
+    public interface Callback {
+        /**
+         * Called when the latest request succeeds.
+         *
+         * @param request The request that was sent.
+         * @param response The response to the request.
+         */
+        void onPredictions(
+                @NonNull FindAutocompletePredictionsRequest request,
+                @NonNull FindAutocompletePredictionsResponse response);
+
+        /**
+         * Called when the latest request fails.
+         *
+         * @param request The request that was sent.
+         * @param exception The reason of the failure.
+         */
+        void onError(
+                @NonNull FindAutocompletePredictionsRequest request,
+                @NonNull Exception exception);
+    }
+
+
+    /**
+     * Builder for {@link AutocompleteSession}.
+     */
+    public static class Builder {
+        private static final long DEFAULT_DEBOUNCE_DELAY_MILLIS = 300;
+
+        final @NonNull PlacesClient mClient;
+        final @NonNull Callback mCallback;
+        long mDebounceDelayMillis = DEFAULT_DEBOUNCE_DELAY_MILLIS;
+
+        /**
+         * @param client The client that serves the requests of the session.
+         * @param callback The callback that receives the outcome of the latest request.
+         */
+        public Builder(@NonNull PlacesClient client, @NonNull Callback callback) {
+            mClient = Preconditions.checkNotNull(client);
+            mCallback = Preconditions.checkNotNull(callback);
+        }
+
+        /**
+         * Sets how long to wait for a newer request before sending the latest one. Defaults to
+         * 300 milliseconds.
+         */
+        public @NonNull Builder setDebounceDelay(long delay, @NonNull TimeUnit unit) {
+            if (delay < 0) {
+                throw new IllegalArgumentException("delay must not be negative: " + delay);
+            }
+            mDebounceDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        public @NonNull AutocompleteSession build() {
+            return new AutocompleteSession(this);
+        }
+    }
+
+}
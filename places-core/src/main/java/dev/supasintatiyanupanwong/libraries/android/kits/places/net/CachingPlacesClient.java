@@ -0,0 +1,667 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.os.SystemClock;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.TypeFilter;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnSuccessListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that keeps the responses of {@link #fetchPlace(FetchPlaceRequest)} and
+ * {@link #findAutocompletePredictions(FindAutocompletePredictionsRequest)} in bounded in-memory
+ * caches.
+ * <p>
+ * Cached place responses are keyed by the place ID together with the requested {@link
+ * Place.Field} set. Cached autocomplete responses are keyed by the query, country and {@link
+ * TypeFilter}. Both caches evict in least-recently-used order once their maximum size is
+ * reached, and expire entries after the configured time-to-live. A cache hit completes the
+ * returned task immediately without issuing a request to the wrapped client.
+ * <p>
+ * While the user keeps typing, {@link
+ * #getCachedAutocompletePredictions(FindAutocompletePredictionsRequest)} can be used to show the
+ * predictions of a previous, shorter query that still match the new one, until the refined
+ * predictions of the new query arrive.
+ * <p>
+ * Place details can also be read through a persistent {@link PlaceStore}, see {@link
+ * Builder#setPlaceStore(PlaceStore)}, and fetched ahead of time for the top predictions, see
+ * {@link Builder#setPrefetchPolicy(PrefetchPolicy)}.
+ *
+ * @since 1.1.0
+ */
+public final class CachingPlacesClient implements PlacesClient {
+
+    private static final int MAX_INDEX_SIZE = 1000;
+    private static final int MAX_INDEX_MATCHES = 5;
+
+    private final @NonNull PlacesClient mDelegate;
+    private final long mTimeToLiveMillis;
+    private final @Nullable PlaceStore mPlaceStore;
+    private final @Nullable PlaceIndex mPlaceIndex;
+    private final @Nullable PrefetchPolicy mPrefetchPolicy;
+
+    private final @NonNull LinkedHashMap<PlaceKey, CacheEntry<FetchPlaceResponse>> mPlaces;
+    private final @NonNull LinkedHashMap<PredictionsKey,
+            CacheEntry<FindAutocompletePredictionsResponse>> mPredictions;
+
+    /** Prefetches in flight, which the fetches of the same places join. */
+    private final @NonNull Map<PlaceKey, Prefetch> mPrefetches = new HashMap<>();
+
+    private CachingPlacesClient(@NonNull Builder builder) {
+        mDelegate = builder.mDelegate;
+        mTimeToLiveMillis = builder.mTimeToLiveMillis;
+        mPlaceStore = builder.mPlaceStore;
+        mPlaceIndex = builder.mLocalIndexEnabled ? new PlaceIndex(MAX_INDEX_SIZE) : null;
+        mPrefetchPolicy = builder.mPrefetchPolicy;
+
+        mPlaces = new LruMap<>(builder.mMaxSize);
+        mPredictions = new LruMap<>(builder.mMaxPredictionsSize);
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        if (TextUtils.isEmpty(request.getQuery())) {
+            return mDelegate.findAutocompletePredictions(request);
+        }
+
+        final PredictionsKey key = new PredictionsKey(request);
+
+        final FindAutocompletePredictionsResponse cached = get(mPredictions, key);
+        if (cached != null) {
+            return CompletableTask.forResult(cached);
+        }
+
+        final Task<FindAutocompletePredictionsResponse> task =
+                mDelegate.findAutocompletePredictions(request);
+        task.addOnSuccessListener(new OnSuccessListener<FindAutocompletePredictionsResponse>() {
+            @Override
+            public void onSuccess(FindAutocompletePredictionsResponse response) {
+                if (response != null) {
+                    put(mPredictions, key, response);
+                    index(response, key);
+                    prefetch(response);
+                }
+            }
+        });
+        if (mPlaceIndex == null) {
+            return task;
+        }
+
+        // Keep the feature usable offline by answering from the local index when the provider
+        // can't be reached.
+        final CompletableTask<FindAutocompletePredictionsResponse> result = new CompletableTask<>();
+        task.addOnCompleteListener(new OnCompleteListener<FindAutocompletePredictionsResponse>() {
+            @Override
+            public void onComplete(@NonNull Task<FindAutocompletePredictionsResponse> completed) {
+                // Only when the provider can't be reached, so that permanent errors such as a bad
+                // API key aren't hidden.
+                final Exception exception = completed.getException();
+                if (exception != null
+                        && PlacesException.kindOf(exception) != PlacesException.Kind.PERMANENT) {
+                    final List<AutocompletePrediction> matches = mPlaceIndex.find(
+                            key.mQuery, key.mCountry, key.mTypeFilter, MAX_INDEX_MATCHES);
+                    if (!matches.isEmpty()) {
+                        result.trySetResult(new CachedFindAutocompletePredictionsResponse(matches));
+                        return;
+                    }
+                }
+                result.trySetFrom(completed);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        final PlaceKey key = new PlaceKey(request);
+
+        final FetchPlaceResponse cached = getPlace(request, key);
+        if (cached != null) {
+            return CompletableTask.forResult(cached);
+        }
+
+        // A prefetch of the place in flight is never sent twice. An interactive fetch doesn't
+        // wait for the background slot of a prefetch still queued though, but replaces it.
+        Prefetch prefetch;
+        boolean replaced = false;
+        synchronized (mPrefetches) {
+            prefetch = mPrefetches.get(key);
+            if (prefetch != null
+                    && request.getPriority() == RequestPriority.INTERACTIVE
+                    && mDelegate instanceof SchedulingPlacesClient
+                    && ((SchedulingPlacesClient) mDelegate)
+                            .removeQueuedCall(prefetch.mCancellation.getToken())) {
+                mPrefetches.remove(key);
+                replaced = true;
+            }
+        }
+        if (replaced) {
+            prefetch.mCancellation.cancel();
+        } else if (prefetch != null) {
+            return join(prefetch.mTask, request);
+        }
+
+        return fetchAndCache(request, key);
+    }
+
+    /**
+     * Returns the cached predictions for the given request without issuing any request.
+     * <p>
+     * If the exact query is not cached, the predictions of the longest cached query that the
+     * given query extends are returned instead, narrowed down to the ones whose primary or
+     * secondary text still matches the given query. If the local index is enabled, matching
+     * places seen earlier are added to them.
+     *
+     * @param request The request specifying details of the autocomplete query.
+     * @return the cached predictions for the given request, or {@code null} if nothing usable is
+     * cached.
+     */
+    public @Nullable FindAutocompletePredictionsResponse getCachedAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        if (TextUtils.isEmpty(request.getQuery())) {
+            return null;
+        }
+
+        final PredictionsKey key = new PredictionsKey(request);
+
+        final FindAutocompletePredictionsResponse cached = get(mPredictions, key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final List<AutocompletePrediction> matches = new ArrayList<>();
+
+        final FindAutocompletePredictionsResponse prefix = findPrefixPredictions(key);
+        if (prefix != null) {
+            final String[] terms = key.mQuery.split("\\s+");
+            final List<AutocompletePrediction> predictions = prefix.getAutocompletePredictions();
+            for (int iter = 0, size = predictions.size(); iter < size; iter++) {
+                final AutocompletePrediction prediction = predictions.get(iter);
+                if (matches(prediction, terms)) {
+                    matches.add(prediction);
+                }
+            }
+        }
+
+        if (mPlaceIndex != null) {
+            final List<AutocompletePrediction> indexed = mPlaceIndex.find(
+                    key.mQuery, key.mCountry, key.mTypeFilter, MAX_INDEX_MATCHES);
+            for (int iter = 0, size = indexed.size(); iter < size; iter++) {
+                if (!containsPlace(matches, indexed.get(iter).getPlaceId())) {
+                    matches.add(indexed.get(iter));
+                }
+            }
+        }
+
+        if (prefix == null && matches.isEmpty()) {
+            return null;
+        }
+        return new CachedFindAutocompletePredictionsResponse(matches);
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void clear() {
+        synchronized (mPlaces) {
+            mPlaces.clear();
+        }
+        synchronized (mPredictions) {
+            mPredictions.clear();
+        }
+    }
+
+
+    private @Nullable FetchPlaceResponse getPlace(
+            @NonNull FetchPlaceRequest request, @NonNull PlaceKey key) {
+        final FetchPlaceResponse cached = get(mPlaces, key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final FetchPlaceResponse stored = mPlaceStore != null ? mPlaceStore.get(request) : null;
+        if (stored != null) {
+            put(mPlaces, key, stored);
+        }
+        return stored;
+    }
+
+    private @NonNull Task<FetchPlaceResponse> fetchAndCache(
+            final @NonNull FetchPlaceRequest request, final @NonNull PlaceKey key) {
+        return mDelegate.fetchPlace(request)
+                .addOnSuccessListener(new OnSuccessListener<FetchPlaceResponse>() {
+                    @Override
+                    public void onSuccess(FetchPlaceResponse response) {
+                        if (response != null) {
+                            // Keep a compact copy rather than the provider objects behind it.
+                            final List<Place.Field> placeFields = request.getPlaceFields();
+                            final PlaceSnapshot place = placeFields != null
+                                    ? PlaceSnapshot.of(response.getPlace(), placeFields)
+                                    : PlaceSnapshot.of(response.getPlace());
+                            put(mPlaces, key, new SnapshotFetchPlaceResponse(place));
+                            if (mPlaceIndex != null) {
+                                mPlaceIndex.add(response.getPlace());
+                            }
+                            if (mPlaceStore != null) {
+                                mPlaceStore.put(request, response);
+                            }
+                        }
+                    }
+                });
+    }
+
+    private void prefetch(@NonNull FindAutocompletePredictionsResponse response) {
+        if (mPrefetchPolicy == null) {
+            return;
+        }
+
+        final List<FetchPlaceRequest> requests = mPrefetchPolicy.getRequests(response);
+        for (int iter = 0, size = requests.size(); iter < size; iter++) {
+            final FetchPlaceRequest request = requests.get(iter);
+            final PlaceKey key = new PlaceKey(request);
+            if (getPlace(request, key) != null) {
+                continue;
+            }
+
+            synchronized (mPrefetches) {
+                if (mPrefetches.containsKey(key)) {
+                    continue;
+                }
+                // Canceled by its own token, for an interactive fetch to replace it while queued.
+                final CancellationTokenSource cancellation = new CancellationTokenSource();
+                final Prefetch prefetch = new Prefetch(
+                        fetchAndCache(request.withCancellationToken(cancellation.getToken()), key),
+                        cancellation);
+                mPrefetches.put(key, prefetch);
+                // Registered after the caching listener, so that a fetch of the place always
+                // finds either the prefetch or its cached response.
+                prefetch.mTask.addOnCompleteListener(new OnCompleteListener<FetchPlaceResponse>() {
+                    @Override
+                    public void onComplete(@NonNull Task<FetchPlaceResponse> completed) {
+                        synchronized (mPrefetches) {
+                            // A replaced prefetch may have been followed by a new one already.
+                            if (mPrefetches.get(key) == prefetch) {
+                                mPrefetches.remove(key);
+                            }
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns a task completing with the given shared prefetch, unless the given request is
+     * canceled or times out first, which leaves the prefetch running for the others.
+     */
+    private static @NonNull Task<FetchPlaceResponse> join(
+            @NonNull Task<FetchPlaceResponse> prefetch, @NonNull FetchPlaceRequest request) {
+        final CompletableTask<FetchPlaceResponse> result =
+                new CompletableTask<FetchPlaceResponse>()
+                        .cancelOn(request.getCancellationToken())
+                        .failAfter(request.getTimeoutMillis());
+        prefetch.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new OnCompleteListener<FetchPlaceResponse>() {
+                    @Override
+                    public void onComplete(@NonNull Task<FetchPlaceResponse> completed) {
+                        result.trySetFrom(completed);
+                    }
+                });
+        return result;
+    }
+
+    private @Nullable FindAutocompletePredictionsResponse findPrefixPredictions(
+            @NonNull PredictionsKey key) {
+        for (int length = key.mQuery.length() - 1; length > 0; length--) {
+            final FindAutocompletePredictionsResponse cached =
+                    get(mPredictions, key.withQueryLength(length));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private @Nullable <K, V> V get(
+            @NonNull LinkedHashMap<K, CacheEntry<V>> cache, @NonNull K key) {
+        synchronized (cache) {
+            final CacheEntry<V> entry = cache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(SystemClock.elapsedRealtime())) {
+                cache.remove(key);
+                return null;
+            }
+            return entry.mValue;
+        }
+    }
+
+    private <K, V> void put(
+            @NonNull LinkedHashMap<K, CacheEntry<V>> cache, @NonNull K key, @NonNull V value) {
+        synchronized (cache) {
+            cache.put(key, new CacheEntry<>(
+                    value, SystemClock.elapsedRealtime() + mTimeToLiveMillis));
+        }
+    }
+
+
+    private void index(
+            @NonNull FindAutocompletePredictionsResponse response, @NonNull PredictionsKey key) {
+        if (mPlaceIndex == null) {
+            return;
+        }
+        final List<AutocompletePrediction> predictions = response.getAutocompletePredictions();
+        for (int iter = 0, size = predictions.size(); iter < size; iter++) {
+            mPlaceIndex.add(predictions.get(iter), key.mCountry, key.mTypeFilter);
+        }
+    }
+
+
+    private static boolean containsPlace(
+            @NonNull List<AutocompletePrediction> predictions, @NonNull String placeId) {
+        for (int iter = 0, size = predictions.size(); iter < size; iter++) {
+            if (placeId.equals(predictions.get(iter).getPlaceId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static @NonNull String normalize(@NonNull String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean matches(
+            @NonNull AutocompletePrediction prediction, @NonNull String[] terms) {
+        final String text = normalize(
+                prediction.getPrimaryText() + " " + prediction.getSecondaryText());
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static final class PlaceKey {
+        private final @NonNull String mPlaceId;
+        private final @NonNull Set<Place.Field> mPlaceFields;
+
+        PlaceKey(@NonNull FetchPlaceRequest request) {
+            mPlaceId = request.getPlaceId();
+            mPlaceFields = EnumSet.noneOf(Place.Field.class);
+
+            final List<Place.Field> placeFields = request.getPlaceFields();
+            if (placeFields != null) {
+                mPlaceFields.addAll(placeFields);
+            }
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            PlaceKey that = (PlaceKey) obj;
+
+            return mPlaceId.equals(that.mPlaceId) && mPlaceFields.equals(that.mPlaceFields);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mPlaceId.hashCode() + mPlaceFields.hashCode();
+        }
+    }
+
+    private static final class PredictionsKey {
+        final @NonNull String mQuery;
+        final @Nullable String mCountry;
+        final @Nullable TypeFilter mTypeFilter;
+
+        PredictionsKey(@NonNull FindAutocompletePredictionsRequest request) {
+            this(normalize(Preconditions.checkNotNull(request.getQuery())),
+                    request.getCountry(),
+                    request.getTypeFilter());
+        }
+
+        private PredictionsKey(
+                @NonNull String query, @Nullable String country, @Nullable TypeFilter typeFilter) {
+            mQuery = query;
+            mCountry = country;
+            mTypeFilter = typeFilter;
+        }
+
+        @NonNull PredictionsKey withQueryLength(int length) {
+            return new PredictionsKey(mQuery.substring(0, length), mCountry, mTypeFilter);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            PredictionsKey that = (PredictionsKey) obj;
+
+            return mQuery.equals(that.mQuery)
+                    && TextUtils.equals(mCountry, that.mCountry)
+                    && mTypeFilter == that.mTypeFilter;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mQuery.hashCode();
+            result = 31 * result + (mCountry != null ? mCountry.hashCode() : 0);
+            result = 31 * result + (mTypeFilter != null ? mTypeFilter.hashCode() : 0);
+            return result;
+        }
+    }
+
+    private static final class Prefetch {
+        final @NonNull Task<FetchPlaceResponse> mTask;
+        final @NonNull CancellationTokenSource mCancellation;
+
+        Prefetch(@NonNull Task<FetchPlaceResponse> task,
+                @NonNull CancellationTokenSource cancellation) {
+            mTask = task;
+            mCancellation = cancellation;
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        final @NonNull V mValue;
+        final long mExpiresAtMillis;
+
+        CacheEntry(@NonNull V value, long expiresAtMillis) {
+            mValue = value;
+            mExpiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= mExpiresAtMillis;
+        }
+    }
+
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int mMaxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            mMaxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > mMaxSize;
+        }
+    }
+
+    private static final class CachedFindAutocompletePredictionsResponse implements
+            FindAutocompletePredictionsResponse {
+        private final @NonNull List<AutocompletePrediction> mAutocompletePredictions;
+
+        CachedFindAutocompletePredictionsResponse(
+                @NonNull List<AutocompletePrediction> autocompletePredictions) {
+            mAutocompletePredictions = Collections.unmodifiableList(autocompletePredictions);
+        }
+
+        @Override
+        public @NonNull List<AutocompletePrediction> getAutocompletePredictions() {
+            return mAutocompletePredictions;
+        }
+    }
+
+
+    /**
+     * Builder for {@link CachingPlacesClient}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_SIZE = 100;
+        private static final int DEFAULT_MAX_PREDICTIONS_SIZE = 50;
+        private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+        final @NonNull PlacesClient mDelegate;
+        int mMaxSize = DEFAULT_MAX_SIZE;
+        int mMaxPredictionsSize = DEFAULT_MAX_PREDICTIONS_SIZE;
+        long mTimeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+        @Nullable PlaceStore mPlaceStore;
+        boolean mLocalIndexEnabled;
+        @Nullable PrefetchPolicy mPrefetchPolicy;
+
+        /**
+         * @param delegate The client that serves requests which are not cached.
+         */
+        public Builder(@NonNull PlacesClient delegate) {
+            mDelegate = Preconditions.checkNotNull(delegate);
+        }
+
+        /**
+         * Sets the maximum number of cached places. Defaults to 100.
+         */
+        public @NonNull Builder setMaxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+            }
+            mMaxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached autocomplete queries. Defaults to 50.
+         */
+        public @NonNull Builder setMaxPredictionsSize(int maxPredictionsSize) {
+            if (maxPredictionsSize <= 0) {
+                throw new IllegalArgumentException(
+                        "maxPredictionsSize must be positive: " + maxPredictionsSize);
+            }
+            mMaxPredictionsSize = maxPredictionsSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a cached response stays valid after it was received. Defaults to 30
+         * minutes.
+         */
+        public @NonNull Builder setTimeToLive(long duration, @NonNull TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+            mTimeToLiveMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Sets a persistent store to read place details through, so that they remain available
+         * after a process restart. Defaults to none.
+         */
+        public @NonNull Builder setPlaceStore(@Nullable PlaceStore placeStore) {
+            mPlaceStore = placeStore;
+            return this;
+        }
+
+        /**
+         * Sets whether to index every place and prediction seen, so that {@link
+         * CachingPlacesClient#getCachedAutocompletePredictions(FindAutocompletePredictionsRequest)}
+         * can suggest them for new queries, and {@link
+         * CachingPlacesClient#findAutocompletePredictions(FindAutocompletePredictionsRequest)}
+         * can fall back to them when the provider can't be reached. Defaults to {@code false}.
+         * <p>
+         * Queries restricted to a country or {@link TypeFilter} only get the places predicted for
+         * queries with the same restrictions, and permanent errors of the provider are never
+         * answered from the index.
+         */
+        public @NonNull Builder setLocalIndexEnabled(boolean enabled) {
+            mLocalIndexEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Sets the policy for fetching the details of the top predictions of every autocomplete
+         * response ahead of time. Defaults to none, not prefetching anything.
+         * <p>
+         * Prefetches are sent to the wrapped client, so wrap a {@link SchedulingPlacesClient}
+         * for them to only take background slots, rather than the other way around.
+         * <p>
+         * Fetching a place being prefetched never sends it twice: the fetch joins the prefetch,
+         * unless the fetch is interactive and the prefetch is still queued in the wrapped {@link
+         * SchedulingPlacesClient}, in which case the prefetch is canceled and the fetch is sent
+         * in its place.
+         */
+        public @NonNull Builder setPrefetchPolicy(@Nullable PrefetchPolicy prefetchPolicy) {
+            mPrefetchPolicy = prefetchPolicy;
+            return this;
+        }
+
+        public @NonNull CachingPlacesClient build() {
+            return new CachingPlacesClient(this);
+        }
+    }
+
+}
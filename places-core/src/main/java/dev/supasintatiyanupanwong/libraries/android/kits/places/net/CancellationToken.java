@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tells the requests carrying it that their outcome is no longer needed, once its {@link
+ * CancellationTokenSource} is canceled.
+ * <p>
+ * The tasks of canceled requests complete as canceled, and whatever is left of their work,
+ * from the provider call to the mapping of its response, is skipped where possible.
+ *
+ * @see FetchPlaceRequest.Builder#setCancellationToken(CancellationToken)
+ * @see FindAutocompletePredictionsRequest.Builder#setCancellationToken(CancellationToken)
+ * @since 1.1.0
+ */
+public final class CancellationToken {
+
+    // Guarded by this.
+    private final List<Listener> mListeners = new ArrayList<>();
+    private boolean mCancellationRequested;
+
+    CancellationToken() {}
+
+    public synchronized boolean isCancellationRequested() {
+        return mCancellationRequested;
+    }
+
+    /**
+     * Adds a listener called on the thread canceling this token, or right away on the calling
+     * thread if this token is already canceled.
+     */
+    public void addListener(@NonNull Listener listener) {
+        synchronized (this) {
+            if (!mCancellationRequested) {
+                mListeners.add(listener);
+                return;
+            }
+        }
+        listener.onCanceled();
+    }
+
+    public synchronized void removeListener(@NonNull Listener listener) {
+        mListeners.remove(listener);
+    }
+
+
+    void cancel() {
+        final List<Listener> listeners;
+        synchronized (this) {
+            if (mCancellationRequested) {
+                return;
+            }
+            mCancellationRequested = true;
+            listeners = new ArrayList<>(mListeners);
+            mListeners.clear();
+        }
+
+        for (int iter = 0, size = listeners.size(); iter < size; iter++) {
+            listeners.get(iter).onCanceled();
+        }
+    }
+
+
+    /**
+     * Receives the cancellation of a {@link CancellationToken}.
+     */
+    public interface Listener {
+        void onCanceled();
+    }
+
+}
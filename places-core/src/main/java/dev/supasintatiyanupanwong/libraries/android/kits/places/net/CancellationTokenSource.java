@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Creates a {@link CancellationToken} and cancels it, typically when the screen or search that
+ * sent the requests carrying the token goes away.
+ *
+ * @since 1.1.0
+ */
+public final class CancellationTokenSource {
+
+    private final @NonNull CancellationToken mToken = new CancellationToken();
+
+    public @NonNull CancellationToken getToken() {
+        return mToken;
+    }
+
+    /**
+     * Cancels the token of this source, and with it the requests carrying it. Canceling it again
+     * has no effect.
+     */
+    public void cancel() {
+        mToken.cancel();
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+
+/**
+ * Tracks the health of a client of a {@link FailoverPlacesClient}.
+ * <p>
+ * The circuit is {@link State#CLOSED} while the client is healthy. It {@link State#OPEN opens}
+ * after a number of consecutive failed or slow calls, during which no call is sent to the
+ * client. Once the open duration has passed, the circuit becomes {@link State#HALF_OPEN} and
+ * lets a single probe call through, closing again if it succeeds, or reopening otherwise. A
+ * probe still unanswered after another open duration is given up on, letting a new one
+ * through.
+ *
+ * @since 1.1.0
+ */
+public final class CircuitBreaker {
+
+    /** The ticket of a call that may not be sent to the client. */
+    static final long REJECTED = -1;
+
+    private final @NonNull String mName;
+    private final int mFailureThreshold;
+    private final long mOpenDurationNanos;
+    private final long mSlowCallThresholdNanos;
+
+    private final @NonNull List<Listener> mListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this.
+    private @NonNull State mState = State.CLOSED;
+    private int mConsecutiveFailures;
+    private long mOpenedAtNanos;
+    private boolean mProbeInFlight;
+    private long mProbeStartedAtNanos;
+    // Bumped on every state change and every new probe, so that the outcomes of calls acquired
+    // before, such as calls sent while closed that complete once half-open, are ignored.
+    private long mGeneration;
+
+    CircuitBreaker(@NonNull String name, int failureThreshold, long openDurationNanos,
+            long slowCallThresholdNanos) {
+        mName = name;
+        mFailureThreshold = failureThreshold;
+        mOpenDurationNanos = openDurationNanos;
+        mSlowCallThresholdNanos = slowCallThresholdNanos;
+    }
+
+    /**
+     * Returns the name of the provider of the client this circuit breaker guards.
+     */
+    public @NonNull String getName() {
+        return mName;
+    }
+
+    public synchronized @NonNull State getState() {
+        return mState;
+    }
+
+    /**
+     * Registers a listener to be notified of every state change, on the thread making the
+     * change.
+     */
+    public void addListener(@NonNull Listener listener) {
+        mListeners.add(Preconditions.checkNotNull(listener));
+    }
+
+    public void removeListener(@NonNull Listener listener) {
+        mListeners.remove(listener);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "CircuitBreaker{name=" + mName + ", state=" + getState() + "}";
+    }
+
+
+    /**
+     * Returns the ticket of a call that may be sent to the client now, whose outcome must then
+     * be reported to {@link #onCallCompleted(long, long, boolean)} or {@link
+     * #onCallCanceled(long)}, or {@link #REJECTED} if the call may not be sent.
+     */
+    long tryAcquire() {
+        final long ticket;
+        State newState = null;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            switch (mState) {
+                case CLOSED:
+                    ticket = mGeneration;
+                    break;
+                case OPEN:
+                    if (now - mOpenedAtNanos < mOpenDurationNanos) {
+                        ticket = REJECTED;
+                        break;
+                    }
+                    newState = mState = State.HALF_OPEN;
+                    ticket = startProbeLocked(now);
+                    break;
+                default:
+                    if (mProbeInFlight && now - mProbeStartedAtNanos < mOpenDurationNanos) {
+                        ticket = REJECTED;
+                        break;
+                    }
+                    ticket = startProbeLocked(now);
+                    break;
+            }
+        }
+        notifyStateChanged(newState);
+        return ticket;
+    }
+
+    /**
+     * Records the outcome of a call acquired with {@link #tryAcquire()}.
+     */
+    void onCallCompleted(long ticket, long durationNanos, boolean failed) {
+        final boolean healthy = !failed && durationNanos <= mSlowCallThresholdNanos;
+        State newState = null;
+        synchronized (this) {
+            if (ticket != mGeneration) {
+                // Calls sent before the last state change, or abandoned probes, tell nothing new.
+                return;
+            }
+            if (healthy) {
+                mConsecutiveFailures = 0;
+                if (mState == State.HALF_OPEN) {
+                    newState = mState = State.CLOSED;
+                    mProbeInFlight = false;
+                    mGeneration++;
+                }
+            } else if (mState == State.HALF_OPEN
+                    || ++mConsecutiveFailures >= mFailureThreshold) {
+                newState = mState = State.OPEN;
+                mOpenedAtNanos = System.nanoTime();
+                mConsecutiveFailures = 0;
+                mProbeInFlight = false;
+                mGeneration++;
+            }
+        }
+        notifyStateChanged(newState);
+    }
+
+    /**
+     * Releases a call acquired with {@link #tryAcquire()} that was canceled, or failed with a
+     * {@link PlacesException.Kind#PERMANENT permanent} error, which tells nothing about the
+     * health of the client.
+     */
+    synchronized void onCallCanceled(long ticket) {
+        if (ticket == mGeneration && mState == State.HALF_OPEN) {
+            mProbeInFlight = false;
+        }
+    }
+
+    private long startProbeLocked(long now) {
+        mProbeInFlight = true;
+        mProbeStartedAtNanos = now;
+        return ++mGeneration;
+    }
+
+    private void notifyStateChanged(State newState) {
+        if (newState == null) {
+            return;
+        }
+        for (Listener listener : mListeners) {
+            listener.onStateChanged(this, newState);
+        }
+    }
+
+
+    /**
+     * The states of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /** The client is healthy, calls are sent to it. */
+        CLOSED,
+        /** The client is unhealthy, calls are sent to the other clients. */
+        OPEN,
+        /** The client is being probed with a single call. */
+        HALF_OPEN
+    }
+
+    /**
+     * Receives the state changes of a {@link CircuitBreaker}.
+     */
+    public interface Listener {
+        /**
+         * Called when the state of the circuit breaker changes.
+         *
+         * @param breaker The circuit breaker.
+         * @param state The new state of the circuit breaker.
+         */
+        void onStateChanged(@NonNull CircuitBreaker breaker, @NonNull State state);
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that coalesces concurrent identical requests into a single request to
+ * the wrapped client.
+ * <p>
+ * While a request is in flight, any request equal to it joins it, sharing both the underlying
+ * provider call and the wrapped result. Once the call completes, the next identical request is
+ * issued to the wrapped client again.
+ * <p>
+ * Each request still gets its own {@link Task}, canceled by its own {@link CancellationToken}
+ * and timing out after its own timeout. The shared call is sent with the default timeout of the
+ * wrapped client, and is only canceled once every request that joined it is canceled or timed
+ * out.
+ *
+ * @since 1.1.0
+ */
+public final class CoalescingPlacesClient implements PlacesClient {
+
+    private final @NonNull PlacesClient mDelegate;
+
+    private final @NonNull Map<FindAutocompletePredictionsRequest,
+            SharedCall<FindAutocompletePredictionsRequest, FindAutocompletePredictionsResponse>>
+            mInFlightPredictions = new HashMap<>();
+    private final @NonNull Map<FetchPlaceRequest, SharedCall<FetchPlaceRequest, FetchPlaceResponse>>
+            mInFlightPlaces = new HashMap<>();
+
+    /**
+     * @param delegate The client that serves the coalesced requests.
+     */
+    public CoalescingPlacesClient(@NonNull PlacesClient delegate) {
+        mDelegate = Preconditions.checkNotNull(delegate);
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            final @NonNull FindAutocompletePredictionsRequest request) {
+        synchronized (mInFlightPredictions) {
+            SharedCall<FindAutocompletePredictionsRequest, FindAutocompletePredictionsResponse>
+                    call = mInFlightPredictions.get(request);
+            if (call == null) {
+                call = new SharedCall<FindAutocompletePredictionsRequest,
+                        FindAutocompletePredictionsResponse>(mInFlightPredictions, request) {
+                    @Override
+                    @NonNull Task<FindAutocompletePredictionsResponse> send(
+                            @NonNull CancellationToken cancellationToken) {
+                        return mDelegate.findAutocompletePredictions(
+                                request.withCancellationToken(cancellationToken, 0));
+                    }
+                };
+                call.start();
+            }
+            return call.join(request.getCancellationToken(), request.getTimeoutMillis());
+        }
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(final @NonNull FetchPlaceRequest request) {
+        synchronized (mInFlightPlaces) {
+            SharedCall<FetchPlaceRequest, FetchPlaceResponse> call = mInFlightPlaces.get(request);
+            if (call == null) {
+                call = new SharedCall<FetchPlaceRequest, FetchPlaceResponse>(
+                        mInFlightPlaces, request) {
+                    @Override
+                    @NonNull Task<FetchPlaceResponse> send(
+                            @NonNull CancellationToken cancellationToken) {
+                        return mDelegate.fetchPlace(
+                                request.withCancellationToken(cancellationToken, 0));
+                    }
+                };
+                call.start();
+            }
+            return call.join(request.getCancellationToken(), request.getTimeoutMillis());
+        }
+    }
+
+
+    /**
+     * A call to the wrapped client shared by the identical requests that joined it, guarded by
+     * the map of the calls in flight it belongs to.
+     */
+    private abstract static class SharedCall<K, V> {
+        private final @NonNull Map<K, SharedCall<K, V>> mInFlight;
+        private final @NonNull K mKey;
+        private final @NonNull CancellationTokenSource mCancellation =
+                new CancellationTokenSource();
+
+        private final @NonNull List<CompletableTask<V>> mResults = new ArrayList<>();
+        private Task<V> mTask;
+
+        SharedCall(@NonNull Map<K, SharedCall<K, V>> inFlight, @NonNull K key) {
+            mInFlight = inFlight;
+            mKey = key;
+        }
+
+        abstract @NonNull Task<V> send(@NonNull CancellationToken cancellationToken);
+
+        void start() {
+            // Registered before sending, so that a call completing right away is removed again.
+            mInFlight.put(mKey, this);
+            try {
+                mTask = send(mCancellation.getToken());
+            } catch (RuntimeException ex) {
+                mInFlight.remove(mKey);
+                throw ex;
+            }
+            mTask.addOnCompleteListener(DirectExecutor.INSTANCE, new OnCompleteListener<V>() {
+                @Override
+                public void onComplete(@NonNull Task<V> task) {
+                    onCallComplete(task);
+                }
+            });
+        }
+
+        @NonNull Task<V> join(
+                @Nullable CancellationToken cancellationToken, long timeoutMillis) {
+            final CompletableTask<V> result = new CompletableTask<>();
+            if (mTask.isComplete()) {
+                result.trySetFrom(mTask);
+                return result;
+            }
+
+            mResults.add(result);
+            result.cancelOn(cancellationToken).failAfter(timeoutMillis);
+            result.addOnCompleteListener(DirectExecutor.INSTANCE, new OnCompleteListener<V>() {
+                @Override
+                public void onComplete(@NonNull Task<V> task) {
+                    onResultComplete(result);
+                }
+            });
+            return result;
+        }
+
+        private void onResultComplete(@NonNull CompletableTask<V> result) {
+            synchronized (mInFlight) {
+                // Results completed by the shared call were removed already.
+                if (!mResults.remove(result) || !mResults.isEmpty()) {
+                    return;
+                }
+                // No request wants the outcome anymore, so the next one starts a new call.
+                remove();
+            }
+            mCancellation.cancel();
+        }
+
+        private void onCallComplete(@NonNull Task<V> task) {
+            final List<CompletableTask<V>> results;
+            synchronized (mInFlight) {
+                remove();
+                results = new ArrayList<>(mResults);
+                mResults.clear();
+            }
+            for (int iter = 0, size = results.size(); iter < size; iter++) {
+                results.get(iter).trySetFrom(task);
+            }
+        }
+
+        private void remove() {
+            // A newer call may have replaced this one already.
+            if (mInFlight.get(mKey) == this) {
+                mInFlight.remove(mKey);
+            }
+        }
+    }
+
+}
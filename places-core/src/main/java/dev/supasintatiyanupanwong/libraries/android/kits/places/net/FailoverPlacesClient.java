@@ -0,0 +1,285 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.metrics.InstrumentedPlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that fails over between the clients of several providers, typically
+ * those returned by {@link PlaceKit#createClients(android.content.Context)}, guarding each of
+ * them with a {@link CircuitBreaker}.
+ * <p>
+ * Autocomplete requests go to the first client, in order, whose circuit lets the call through,
+ * and to the next one if the call fails. While a client is unhealthy its circuit stays open,
+ * so its traffic goes to the other clients, until a probe call shows it has recovered.
+ * <p>
+ * Only throttled, transient and timed out calls count as unhealthy. {@link
+ * PlacesException.Kind#PERMANENT Permanent} errors, such as unknown place IDs or invalid
+ * requests, are returned as they are, without failing over or affecting the circuit.
+ * <p>
+ * Place IDs are specific to the provider that returned them, so {@link
+ * #fetchPlace(FetchPlaceRequest)} is only sent to the client whose predictions carried the
+ * place ID, the first one by default, and fails right away while its circuit is open.
+ *
+ * @since 1.1.0
+ */
+public final class FailoverPlacesClient implements PlacesClient {
+
+    private static final int MAX_PLACE_OWNERS = 200;
+
+    private final @NonNull List<PlacesClient> mClients;
+    private final @NonNull List<CircuitBreaker> mCircuitBreakers;
+
+    // Indices of the clients, other than the first one, whose predictions carried a place ID.
+    private final @NonNull Map<String, Integer> mPlaceOwners =
+            new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                    return size() > MAX_PLACE_OWNERS;
+                }
+            };
+
+    private FailoverPlacesClient(@NonNull Builder builder) {
+        mClients = builder.mClients;
+
+        final List<CircuitBreaker> circuitBreakers = new ArrayList<>(mClients.size());
+        for (int iter = 0, size = mClients.size(); iter < size; iter++) {
+            final PlacesClient client = mClients.get(iter);
+            final String name = client instanceof InstrumentedPlacesClient
+                    ? ((InstrumentedPlacesClient) client).getProvider()
+                    : "client-" + iter;
+            circuitBreakers.add(new CircuitBreaker(name, builder.mFailureThreshold,
+                    builder.mOpenDurationNanos, builder.mSlowCallThresholdNanos));
+        }
+        mCircuitBreakers = Collections.unmodifiableList(circuitBreakers);
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        final CompletableTask<FindAutocompletePredictionsResponse> result =
+                new CompletableTask<>();
+        findAutocompletePredictions(request, 0, null, result);
+        return result;
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        final Integer owner;
+        synchronized (mPlaceOwners) {
+            owner = mPlaceOwners.get(request.getPlaceId());
+        }
+        final int index = owner != null ? owner : 0;
+
+        final CircuitBreaker circuitBreaker = mCircuitBreakers.get(index);
+        final long ticket = circuitBreaker.tryAcquire();
+        if (ticket == CircuitBreaker.REJECTED) {
+            return CompletableTask.forException(newOpenCircuitException(circuitBreaker));
+        }
+
+        final long startNanos = System.nanoTime();
+        final Task<FetchPlaceResponse> task = mClients.get(index).fetchPlace(request);
+        task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new OnCompleteListener<FetchPlaceResponse>() {
+                    @Override
+                    public void onComplete(@NonNull Task<FetchPlaceResponse> task) {
+                        if (task.isCanceled() || isPermanentFailure(task)) {
+                            circuitBreaker.onCallCanceled(ticket);
+                        } else {
+                            circuitBreaker.onCallCompleted(ticket,
+                                    System.nanoTime() - startNanos, !task.isSuccessful());
+                        }
+                    }
+                });
+        return task;
+    }
+
+    /**
+     * Returns the circuit breakers of the clients, in the same order, to observe their state.
+     */
+    public @NonNull List<CircuitBreaker> getCircuitBreakers() {
+        return mCircuitBreakers;
+    }
+
+
+    private void findAutocompletePredictions(
+            final @NonNull FindAutocompletePredictionsRequest request,
+            final int fromIndex,
+            final @Nullable Exception firstFailure,
+            final @NonNull CompletableTask<FindAutocompletePredictionsResponse> result) {
+        for (int iter = fromIndex, size = mClients.size(); iter < size; iter++) {
+            final CircuitBreaker circuitBreaker = mCircuitBreakers.get(iter);
+            final long ticket = circuitBreaker.tryAcquire();
+            if (ticket == CircuitBreaker.REJECTED) {
+                continue;
+            }
+
+            final int index = iter;
+            final long startNanos = System.nanoTime();
+            mClients.get(index).findAutocompletePredictions(request).addOnCompleteListener(
+                    DirectExecutor.INSTANCE,
+                    new OnCompleteListener<FindAutocompletePredictionsResponse>() {
+                        @Override
+                        public void onComplete(
+                                @NonNull Task<FindAutocompletePredictionsResponse> task) {
+                            if (task.isCanceled()) {
+                                // Canceled by the caller, no other client is wanted either.
+                                circuitBreaker.onCallCanceled(ticket);
+                                result.trySetCanceled();
+                                return;
+                            }
+
+                            if (isPermanentFailure(task)) {
+                                // The request itself is at fault, another client won't do better.
+                                circuitBreaker.onCallCanceled(ticket);
+                                result.trySetException(task.getException());
+                                return;
+                            }
+
+                            final FindAutocompletePredictionsResponse response =
+                                    task.isSuccessful() ? task.getResult() : null;
+                            circuitBreaker.onCallCompleted(ticket,
+                                    System.nanoTime() - startNanos, response == null);
+
+                            if (response != null) {
+                                if (index > 0) {
+                                    putPlaceOwner(response, index);
+                                }
+                                result.trySetResult(response);
+                            } else {
+                                final Exception exception = task.getException() != null
+                                        ? task.getException()
+                                        : new IllegalStateException("No response for " + request);
+                                findAutocompletePredictions(request, index + 1,
+                                        firstFailure != null ? firstFailure : exception, result);
+                            }
+                        }
+                    });
+            return;
+        }
+
+        result.trySetException(firstFailure != null
+                ? firstFailure
+                : new PlacesException(PlacesException.Kind.TRANSIENT,
+                        "No provider available, all circuits are open"));
+    }
+
+    private void putPlaceOwner(@NonNull FindAutocompletePredictionsResponse response, int index) {
+        synchronized (mPlaceOwners) {
+            for (AutocompletePrediction prediction : response.getAutocompletePredictions()) {
+                mPlaceOwners.put(prediction.getPlaceId(), index);
+            }
+        }
+    }
+
+    private static boolean isPermanentFailure(@NonNull Task<?> task) {
+        final Exception exception = task.getException();
+        return exception != null
+                && PlacesException.kindOf(exception) == PlacesException.Kind.PERMANENT;
+    }
+
+    private static @NonNull Exception newOpenCircuitException(
+            @NonNull CircuitBreaker circuitBreaker) {
+        return new PlacesException(PlacesException.Kind.TRANSIENT,
+                "Circuit is open for " + circuitBreaker.getName());
+    }
+
+
+    /**
+     * Builder for {@link FailoverPlacesClient}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+        private static final long DEFAULT_OPEN_DURATION_NANOS = TimeUnit.SECONDS.toNanos(30);
+        private static final long DEFAULT_SLOW_CALL_THRESHOLD_NANOS =
+                TimeUnit.SECONDS.toNanos(10);
+
+        final @NonNull List<PlacesClient> mClients;
+        int mFailureThreshold = DEFAULT_FAILURE_THRESHOLD;
+        long mOpenDurationNanos = DEFAULT_OPEN_DURATION_NANOS;
+        long mSlowCallThresholdNanos = DEFAULT_SLOW_CALL_THRESHOLD_NANOS;
+
+        /**
+         * @param clients The clients to fail over between, in order of preference.
+         */
+        public Builder(@NonNull List<PlacesClient> clients) {
+            if (Preconditions.checkNotNull(clients).isEmpty()) {
+                throw new IllegalArgumentException("clients must not be empty");
+            }
+            mClients = Collections.unmodifiableList(new ArrayList<>(clients));
+        }
+
+        /**
+         * Sets the number of consecutive failed or slow calls opening the circuit of a client.
+         * Defaults to 5.
+         */
+        public @NonNull Builder setFailureThreshold(int failureThreshold) {
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException(
+                        "failureThreshold must be positive: " + failureThreshold);
+            }
+            mFailureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit of a client stays open before a probe call is let through.
+         * Defaults to 30 seconds.
+         */
+        public @NonNull Builder setOpenDuration(long duration, @NonNull TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+            mOpenDurationNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the duration after which a successful call still counts as a failure. Defaults
+         * to 10 seconds.
+         */
+        public @NonNull Builder setSlowCallThreshold(long duration, @NonNull TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+            mSlowCallThresholdNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public @NonNull FailoverPlacesClient build() {
+            return new FailoverPlacesClient(this);
+        }
+    }
+
+}
@@ -17,9 +17,12 @@
 package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
 
@@ -32,10 +35,16 @@ public class FetchPlaceRequest {
 
     private final @NonNull String mPlaceId;
     private final @NonNull List<Place.Field> mPlaceFields;
+    private final @NonNull RequestPriority mPriority;
+    private final @Nullable CancellationToken mCancellationToken;
+    private final long mTimeoutMillis;
 
     private FetchPlaceRequest(@NonNull Builder builder) {
         mPlaceId = builder.mPlaceId;
         mPlaceFields = builder.mPlaceFields;
+        mPriority = builder.mPriority;
+        mCancellationToken = builder.mCancellationToken;
+        mTimeoutMillis = builder.mTimeoutMillis;
     }
 
     public @NonNull String getPlaceId() {
@@ -46,10 +55,96 @@ public class FetchPlaceRequest {
         return mPlaceFields;
     }
 
+    /**
+     * Returns the priority of the request, which isn't part of its identity: requests differing
+     * only by priority are equal.
+     *
+     * @since 1.1.0
+     */
+    public @NonNull RequestPriority getPriority() {
+        return mPriority;
+    }
+
+    /**
+     * Returns the token canceling the request, which isn't part of its identity either.
+     *
+     * @since 1.1.0
+     */
+    public @Nullable CancellationToken getCancellationToken() {
+        return mCancellationToken;
+    }
+
+    /**
+     * Returns how long each provider call of the request may take, in milliseconds, or
+     * {@code 0} to use the default timeout of the client. Not part of the identity of the
+     * request either.
+     *
+     * @since 1.1.0
+     */
+    public long getTimeoutMillis() {
+        return mTimeoutMillis;
+    }
+
+    /**
+     * Returns a copy of this request, canceled by the given token instead.
+     */
+    @NonNull FetchPlaceRequest withCancellationToken(
+            @Nullable CancellationToken cancellationToken) {
+        return withCancellationToken(cancellationToken, mTimeoutMillis);
+    }
+
+    /**
+     * Returns a copy of this request, canceled by the given token and timing out after the given
+     * timeout instead.
+     */
+    @NonNull FetchPlaceRequest withCancellationToken(
+            @Nullable CancellationToken cancellationToken, long timeoutMillis) {
+        return new Builder()
+                .setPlaceId(mPlaceId)
+                .setPlaceFields(mPlaceFields)
+                .setPriority(mPriority)
+                .setCancellationToken(cancellationToken)
+                .setTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        FetchPlaceRequest that = (FetchPlaceRequest) obj;
+
+        return Objects.equals(mPlaceId, that.mPlaceId)
+                && Objects.equals(mPlaceFields, that.mPlaceFields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mPlaceId, mPlaceFields);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "FetchPlaceRequest{"
+                + "placeId=" + mPlaceId
+                + ", placeFields=" + mPlaceFields
+                + ", priority=" + mPriority
+                + ", timeoutMillis=" + mTimeoutMillis
+                + "}";
+    }
+
 
     public static class Builder {
         String mPlaceId;
         List<Place.Field> mPlaceFields;
+        RequestPriority mPriority = RequestPriority.INTERACTIVE;
+        CancellationToken mCancellationToken;
+        long mTimeoutMillis;
 
         public @NonNull Builder setPlaceId(@NonNull String placeId) {
             mPlaceId = placeId;
@@ -61,6 +156,49 @@ public class FetchPlaceRequest {
             return this;
         }
 
+        /**
+         * Sets the priority of the request. Defaults to {@link RequestPriority#INTERACTIVE}.
+         *
+         * @since 1.1.0
+         */
+        public @NonNull Builder setPriority(@NonNull RequestPriority priority) {
+            mPriority = priority;
+            return this;
+        }
+
+        /**
+         * Sets the token canceling the request. Defaults to none.
+         *
+         * @since 1.1.0
+         */
+        public @NonNull Builder setCancellationToken(
+                @Nullable CancellationToken cancellationToken) {
+            mCancellationToken = cancellationToken;
+            return this;
+        }
+
+        /**
+         * Sets how long the request may take, counted from when it's sent to the provider, before
+         * it fails with a {@link PlacesException.Kind#TIMEOUT TIMEOUT} error. Defaults to
+         * {@code 0}, the default timeout of the client.
+         * <p>
+         * The timeout applies to each provider call, so it doesn't bound how long the caller
+         * waits in total: time queued by a {@link SchedulingPlacesClient} or a {@link
+         * RateLimitingPlacesClient} isn't counted, and every attempt of a {@link
+         * RetryingPlacesClient} gets a timeout of its own, on top of the backoff between them.
+         * To bound the total wait, cancel the {@link #setCancellationToken token} of the
+         * request once it elapses instead.
+         *
+         * @since 1.1.0
+         */
+        public @NonNull Builder setTimeout(long timeout, @NonNull TimeUnit unit) {
+            if (timeout < 0) {
+                throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+            }
+            mTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
         public @NonNull FetchPlaceRequest build() {
             return new FetchPlaceRequest(this);
         }
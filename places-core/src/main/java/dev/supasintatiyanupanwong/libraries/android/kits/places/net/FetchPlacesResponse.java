@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response for {@link PlacesBatchFetcher#fetchPlaces(List)}.
+ * <p>
+ * Equal requests of a batch are only sent once, so every distinct request is in exactly one
+ * of {@link #getResponses()} and {@link #getFailures()}.
+ *
+ * @since 1.1.0
+ */
+public interface FetchPlacesResponse {
+
+    /**
+     * Returns the responses of the requests that succeeded, in the order of the requests.
+     * <p>
+     * This map is unmodifiable.
+     *
+     * @return the responses of the requests that succeeded, in the order of the requests.
+     */
+    @NonNull Map<FetchPlaceRequest, FetchPlaceResponse> getResponses();
+
+    /**
+     * Returns the exceptions of the requests that failed, in the order of the requests.
+     * <p>
+     * This map is unmodifiable.
+     *
+     * @return the exceptions of the requests that failed, in the order of the requests.
+     */
+    @NonNull Map<FetchPlaceRequest, Exception> getFailures();
+
+}
@@ -19,6 +19,9 @@ package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.TypeFilter;
 
 /**
@@ -33,11 +36,17 @@ public class FindAutocompletePredictionsRequest {
     private final @Nullable String mQuery;
     private final @Nullable String mCountry;
     private final @Nullable TypeFilter mTypeFilter;
+    private final @NonNull RequestPriority mPriority;
+    private final @Nullable CancellationToken mCancellationToken;
+    private final long mTimeoutMillis;
 
     private FindAutocompletePredictionsRequest(@NonNull Builder builder) {
         mQuery = builder.mQuery;
         mCountry = builder.mCountry;
         mTypeFilter = builder.mTypeFilter;
+        mPriority = builder.mPriority;
+        mCancellationToken = builder.mCancellationToken;
+        mTimeoutMillis = builder.mTimeoutMillis;
     }
 
     public @Nullable String getQuery() {
@@ -52,11 +61,100 @@ public class FindAutocompletePredictionsRequest {
         return mTypeFilter;
     }
 
+    /**
+     * Returns the priority of the request, which isn't part of its identity: requests differing
+     * only by priority are equal.
+     *
+     * @since 1.1.0
+     */
+    public @NonNull RequestPriority getPriority() {
+        return mPriority;
+    }
+
+    /**
+     * Returns the token canceling the request, which isn't part of its identity either.
+     *
+     * @since 1.1.0
+     */
+    public @Nullable CancellationToken getCancellationToken() {
+        return mCancellationToken;
+    }
+
+    /**
+     * Returns how long each provider call of the request may take, in milliseconds, or
+     * {@code 0} to use the default timeout of the client. Not part of the identity of the
+     * request either.
+     *
+     * @since 1.1.0
+     */
+    public long getTimeoutMillis() {
+        return mTimeoutMillis;
+    }
+
+    /**
+     * Returns a copy of this request, canceled by the given token instead.
+     */
+    @NonNull FindAutocompletePredictionsRequest withCancellationToken(
+            @Nullable CancellationToken cancellationToken) {
+        return withCancellationToken(cancellationToken, mTimeoutMillis);
+    }
+
+    /**
+     * Returns a copy of this request, canceled by the given token and timing out after the given
+     * timeout instead.
+     */
+    @NonNull FindAutocompletePredictionsRequest withCancellationToken(
+            @Nullable CancellationToken cancellationToken, long timeoutMillis) {
+        return new Builder()
+                .setQuery(mQuery)
+                .setCountry(mCountry)
+                .setTypeFilter(mTypeFilter)
+                .setPriority(mPriority)
+                .setCancellationToken(cancellationToken)
+                .setTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        FindAutocompletePredictionsRequest that = (FindAutocompletePredictionsRequest) obj;
+
+        return Objects.equals(mQuery, that.mQuery)
+                && Objects.equals(mCountry, that.mCountry)
+                && mTypeFilter == that.mTypeFilter;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mQuery, mCountry, mTypeFilter);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "FindAutocompletePredictionsRequest{"
+                + "query=" + mQuery
+                + ", country=" + mCountry
+                + ", typeFilter=" + mTypeFilter
+                + ", priority=" + mPriority
+                + ", timeoutMillis=" + mTimeoutMillis
+                + "}";
+    }
+
 
     public static class Builder {
         String mQuery;
         String mCountry;
         TypeFilter mTypeFilter;
+        RequestPriority mPriority = RequestPriority.INTERACTIVE;
+        CancellationToken mCancellationToken;
+        long mTimeoutMillis;
 
         public @NonNull Builder setQuery(@Nullable String query) {
             mQuery = query;
@@ -73,6 +171,49 @@ public class FindAutocompletePredictionsRequest {
             return this;
         }
 
+        /**
+         * Sets the priority of the request. Defaults to {@link RequestPriority#INTERACTIVE}.
+         *
+         * @since 1.1.0
+         */
+        public @NonNull Builder setPriority(@NonNull RequestPriority priority) {
+            mPriority = priority;
+            return this;
+        }
+
+        /**
+         * Sets the token canceling the request. Defaults to none.
+         *
+         * @since 1.1.0
+         */
+        public @NonNull Builder setCancellationToken(
+                @Nullable CancellationToken cancellationToken) {
+            mCancellationToken = cancellationToken;
+            return this;
+        }
+
+        /**
+         * Sets how long the request may take, counted from when it's sent to the provider, before
+         * it fails with a {@link PlacesException.Kind#TIMEOUT TIMEOUT} error. Defaults to
+         * {@code 0}, the default timeout of the client.
+         * <p>
+         * The timeout applies to each provider call, so it doesn't bound how long the caller
+         * waits in total: time queued by a {@link SchedulingPlacesClient} or a {@link
+         * RateLimitingPlacesClient} isn't counted, and every attempt of a {@link
+         * RetryingPlacesClient} gets a timeout of its own, on top of the backoff between them.
+         * To bound the total wait, cancel the {@link #setCancellationToken token} of the
+         * request once it elapses instead.
+         *
+         * @since 1.1.0
+         */
+        public @NonNull Builder setTimeout(long timeout, @NonNull TimeUnit unit) {
+            if (timeout < 0) {
+                throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+            }
+            mTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
         public @NonNull FindAutocompletePredictionsRequest build() {
             return new FindAutocompletePredictionsRequest(this);
         }
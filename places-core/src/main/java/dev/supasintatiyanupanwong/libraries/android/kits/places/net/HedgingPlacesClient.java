@@ -0,0 +1,357 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.metrics.LatencyHistogram;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that hedges autocomplete requests across two providers, typically
+ * those returned by {@link PlaceKit#createClients(android.content.Context)}.
+ * <p>
+ * Every request goes to the primary client first. If it hasn't answered once the hedging
+ * delay has passed, or has failed, the same request is also sent to the secondary client, and
+ * the first successful answer wins, canceling the other request. The hedging delay is the
+ * configured percentile of the latencies of the primary client so far, so that only its slowest
+ * requests are hedged. A request of the primary client canceled before answering counts with the
+ * time it took until then, as it would have taken at least as long.
+ * <p>
+ * Place IDs are specific to the provider that returned them, so {@link
+ * #fetchPlace(FetchPlaceRequest)} is sent to the client whose predictions carried the place ID,
+ * the primary one unless the secondary one won.
+ *
+ * @since 1.1.0
+ */
+public final class HedgingPlacesClient implements PlacesClient {
+
+    /** The primary latencies to record before they are trusted for the hedging delay. */
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private static final int MAX_SECONDARY_PLACE_IDS = 200;
+
+    private final @NonNull PlacesClient mPrimary;
+    private final @NonNull PlacesClient mSecondary;
+    private final double mHedgingPercentile;
+    private final long mInitialHedgingDelayNanos;
+
+    private final @NonNull LatencyHistogram mPrimaryLatencies = new LatencyHistogram();
+    private final @NonNull Handler mHandler = new Handler(Looper.getMainLooper());
+
+    // Place IDs of the predictions won by the secondary client, most recent last.
+    private final @NonNull Map<String, Boolean> mSecondaryPlaceIds =
+            new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > MAX_SECONDARY_PLACE_IDS;
+                }
+            };
+
+    private HedgingPlacesClient(@NonNull Builder builder) {
+        mPrimary = builder.mPrimary;
+        mSecondary = builder.mSecondary;
+        mHedgingPercentile = builder.mHedgingPercentile;
+        mInitialHedgingDelayNanos = builder.mInitialHedgingDelayNanos;
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        final HedgedCall call = new HedgedCall(request);
+        call.start();
+        return call.mResult;
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        final boolean fromSecondary;
+        synchronized (mSecondaryPlaceIds) {
+            fromSecondary = mSecondaryPlaceIds.containsKey(request.getPlaceId());
+        }
+        return fromSecondary ? mSecondary.fetchPlace(request) : mPrimary.fetchPlace(request);
+    }
+
+    /**
+     * Returns the delay after which a request still unanswered by the primary client is also
+     * sent to the secondary one.
+     */
+    public long getHedgingDelay(@NonNull TimeUnit unit) {
+        if (mPrimaryLatencies.getCount() < MIN_LATENCY_SAMPLES) {
+            return unit.convert(mInitialHedgingDelayNanos, TimeUnit.NANOSECONDS);
+        }
+        return mPrimaryLatencies.getPercentile(mHedgingPercentile, unit);
+    }
+
+
+    private void onSecondaryWon(@NonNull FindAutocompletePredictionsResponse response) {
+        synchronized (mSecondaryPlaceIds) {
+            for (AutocompletePrediction prediction : response.getAutocompletePredictions()) {
+                mSecondaryPlaceIds.put(prediction.getPlaceId(), Boolean.TRUE);
+            }
+        }
+    }
+
+
+    private final class HedgedCall implements Runnable {
+        final @NonNull FindAutocompletePredictionsRequest mRequest;
+        final @NonNull CompletableTask<FindAutocompletePredictionsResponse> mResult;
+
+        // Each client gets its own token, so that the loser can be canceled once the other wins.
+        private final @NonNull CancellationTokenSource mPrimaryCancellation =
+                new CancellationTokenSource();
+        private final @NonNull CancellationTokenSource mSecondaryCancellation =
+                new CancellationTokenSource();
+
+        // Guarded by this.
+        private boolean mDone;
+        private boolean mHedged;
+        private int mPending;
+        private @Nullable Exception mFailure;
+        private long mPrimaryStartNanos;
+        private boolean mPrimaryAnswered;
+
+        HedgedCall(@NonNull FindAutocompletePredictionsRequest request) {
+            mRequest = request;
+            mResult = new CompletableTask<FindAutocompletePredictionsResponse>()
+                    .cancelOn(request.getCancellationToken());
+        }
+
+        void start() {
+            if (mResult.isComplete()) {
+                return;
+            }
+            // However the call ends, canceled by the caller included, drop the requests still in
+            // flight.
+            mResult.addOnCompleteListener(DirectExecutor.INSTANCE,
+                    new OnCompleteListener<FindAutocompletePredictionsResponse>() {
+                        @Override
+                        public void onComplete(
+                                @NonNull Task<FindAutocompletePredictionsResponse> task) {
+                            mHandler.removeCallbacks(HedgedCall.this);
+                            onPrimaryAbandoned();
+                            mPrimaryCancellation.cancel();
+                            mSecondaryCancellation.cancel();
+                        }
+                    });
+
+            synchronized (this) {
+                mPending = 1;
+                mPrimaryStartNanos = System.nanoTime();
+            }
+            send(false);
+
+            synchronized (this) {
+                if (!mDone && !mHedged) {
+                    mHandler.postDelayed(this, getHedgingDelay(TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+
+        /**
+         * Sends the hedged request, once the hedging delay has passed or the primary client has
+         * failed.
+         */
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (mDone || mHedged) {
+                    return;
+                }
+                mHedged = true;
+                mPending++;
+            }
+            send(true);
+        }
+
+        private void send(final boolean secondary) {
+            final PlacesClient client = secondary ? mSecondary : mPrimary;
+            final CancellationTokenSource cancellation =
+                    secondary ? mSecondaryCancellation : mPrimaryCancellation;
+
+            final Task<FindAutocompletePredictionsResponse> task;
+            try {
+                task = client.findAutocompletePredictions(
+                        mRequest.withCancellationToken(cancellation.getToken()));
+            } catch (RuntimeException ex) {
+                if (!secondary) {
+                    onPrimaryAnswered(false);
+                }
+                onAnswer(null, ex, secondary);
+                return;
+            }
+            task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                    new OnCompleteListener<FindAutocompletePredictionsResponse>() {
+                        @Override
+                        public void onComplete(
+                                @NonNull Task<FindAutocompletePredictionsResponse> task) {
+                            final FindAutocompletePredictionsResponse response =
+                                    task.isSuccessful() ? task.getResult() : null;
+                            if (!secondary) {
+                                onPrimaryAnswered(response != null);
+                            }
+                            onAnswer(response, task.getException(), secondary);
+                        }
+                    });
+        }
+
+        private void onPrimaryAnswered(boolean succeeded) {
+            final long startNanos;
+            synchronized (this) {
+                if (mPrimaryAnswered) {
+                    return;
+                }
+                mPrimaryAnswered = true;
+                startNanos = mPrimaryStartNanos;
+            }
+            // Failures are often fast, so they'd drag the hedging delay down.
+            if (succeeded) {
+                mPrimaryLatencies.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * Records the time the primary client has taken so far, when the call ends without
+         * its answer, so that the slowest requests aren't dropped from its latencies.
+         */
+        private void onPrimaryAbandoned() {
+            final long startNanos;
+            synchronized (this) {
+                if (mPrimaryAnswered) {
+                    return;
+                }
+                mPrimaryAnswered = true;
+                startNanos = mPrimaryStartNanos;
+            }
+            mPrimaryLatencies.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void onAnswer(@Nullable FindAutocompletePredictionsResponse response,
+                @Nullable Exception exception, boolean secondary) {
+            final boolean hedgeNow;
+            final Exception failure;
+            synchronized (this) {
+                mPending--;
+                if (mDone) {
+                    return;
+                }
+                if (response == null) {
+                    // Once both have failed, the failure of the primary client is the one
+                    // reported.
+                    if (mFailure == null || !secondary) {
+                        mFailure = exception != null
+                                ? exception
+                                : new IllegalStateException("No response for " + mRequest);
+                    }
+                    // On failure, send the hedged request right away if it isn't yet, or keep
+                    // waiting for its answer.
+                    hedgeNow = !mHedged;
+                    if (hedgeNow || mPending > 0) {
+                        failure = null;
+                    } else {
+                        mDone = true;
+                        failure = mFailure;
+                    }
+                } else {
+                    hedgeNow = false;
+                    mDone = true;
+                    failure = null;
+                }
+            }
+
+            if (hedgeNow) {
+                mHandler.removeCallbacks(this);
+                run();
+            } else if (response != null) {
+                if (secondary) {
+                    onSecondaryWon(response);
+                }
+                mResult.trySetResult(response);
+            } else if (failure != null) {
+                mResult.trySetException(failure);
+            }
+        }
+    }
+
+
+    /**
+     * Builder for {@link HedgingPlacesClient}.
+     */
+    public static class Builder {
+        private static final double DEFAULT_HEDGING_PERCENTILE = 95;
+        private static final long DEFAULT_INITIAL_HEDGING_DELAY_NANOS =
+                TimeUnit.SECONDS.toNanos(1);
+
+        final @NonNull PlacesClient mPrimary;
+        final @NonNull PlacesClient mSecondary;
+        double mHedgingPercentile = DEFAULT_HEDGING_PERCENTILE;
+        long mInitialHedgingDelayNanos = DEFAULT_INITIAL_HEDGING_DELAY_NANOS;
+
+        /**
+         * @param primary The client every request is sent to first.
+         * @param secondary The client slow requests are also sent to.
+         */
+        public Builder(@NonNull PlacesClient primary, @NonNull PlacesClient secondary) {
+            mPrimary = Preconditions.checkNotNull(primary);
+            mSecondary = Preconditions.checkNotNull(secondary);
+        }
+
+        /**
+         * Sets the percentile of the latencies of the primary client after which a request is
+         * hedged, between 0 and 100. Defaults to 95, hedging about 5% of the requests.
+         */
+        public @NonNull Builder setHedgingPercentile(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException(
+                        "percentile must be in (0, 100]: " + percentile);
+            }
+            mHedgingPercentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the hedging delay used until enough latencies of the primary client are known.
+         * Defaults to 1 second.
+         */
+        public @NonNull Builder setInitialHedgingDelay(long delay, @NonNull TimeUnit unit) {
+            if (delay < 0) {
+                throw new IllegalArgumentException("delay must not be negative: " + delay);
+            }
+            mInitialHedgingDelayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        public @NonNull HedgingPlacesClient build() {
+            return new HedgingPlacesClient(this);
+        }
+    }
+
+}
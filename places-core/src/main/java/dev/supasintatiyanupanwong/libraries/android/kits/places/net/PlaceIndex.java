@@ -0,0 +1,291 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.TypeFilter;
+
+/**
+ * A bounded in-memory prefix index over the places seen by a {@link CachingPlacesClient}.
+ * <p>
+ * Every word of the primary and secondary text of a place is kept in a sorted map, so the places
+ * having a word starting with a given prefix are found with a single range lookup.
+ * <p>
+ * Each place also remembers the country and {@link TypeFilter} of the queries it was predicted
+ * for, so that restricted queries only find the places known to match their restrictions.
+ */
+final class PlaceIndex {
+
+    private final int mMaxSize;
+
+    /** Indexed entries by place ID. */
+    private final Map<String, Entry> mEntries = new HashMap<>();
+
+    /** Indexed entries by the sequence number of their last addition. */
+    private final TreeMap<Long, Entry> mEntriesByRecency = new TreeMap<>();
+    private long mSequence;
+
+    /** Place IDs by the words of their texts. */
+    private final TreeMap<String, Set<String>> mWords = new TreeMap<>();
+
+    PlaceIndex(int maxSize) {
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Adds a prediction returned for a query restricted to the given country and type filter.
+     */
+    void add(@NonNull AutocompletePrediction prediction,
+            @Nullable String country, @Nullable TypeFilter typeFilter) {
+        add(prediction.getPlaceId(), prediction.getPrimaryText(), prediction.getSecondaryText(),
+                new Scope(country, typeFilter));
+    }
+
+    /**
+     * Adds a fetched place, whose country and type aren't known, so that only unrestricted
+     * queries find it.
+     */
+    void add(@NonNull Place place) {
+        final String placeId = place.getId();
+        final String name = place.getName();
+        if (placeId == null || name == null) {
+            return;
+        }
+        add(placeId, name, place.getAddress() != null ? place.getAddress() : "",
+                new Scope(null, null));
+    }
+
+    /**
+     * Returns the indexed places of which every term of the query starts a word of, and that
+     * match the given country and type filter, most recently added first.
+     */
+    @NonNull List<AutocompletePrediction> find(@NonNull String query,
+            @Nullable String country, @Nullable TypeFilter typeFilter, int limit) {
+        final String[] terms = normalize(query).split("\\s+");
+        final List<AutocompletePrediction> matches = new ArrayList<>();
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return matches;
+        }
+
+        synchronized (this) {
+            Set<String> candidates = null;
+            for (String term : terms) {
+                final Set<String> placeIds = findByPrefix(term);
+                if (candidates == null) {
+                    candidates = placeIds;
+                } else {
+                    candidates.retainAll(placeIds);
+                }
+                if (candidates.isEmpty()) {
+                    return matches;
+                }
+            }
+
+            for (Entry entry : mEntriesByRecency.descendingMap().values()) {
+                if (matches.size() >= limit) {
+                    break;
+                }
+                if (candidates.contains(entry.mPlaceId) && entry.matches(country, typeFilter)) {
+                    matches.add(entry);
+                }
+            }
+        }
+        return matches;
+    }
+
+
+    private synchronized void add(@NonNull String placeId, @NonNull String primaryText,
+            @NonNull String secondaryText, @NonNull Scope scope) {
+        final Entry previous = remove(placeId);
+
+        final Entry entry = new Entry(placeId, primaryText, secondaryText, ++mSequence);
+        if (previous != null) {
+            entry.mScopes.addAll(previous.mScopes);
+        }
+        entry.mScopes.add(scope);
+        mEntries.put(placeId, entry);
+        mEntriesByRecency.put(entry.mSequence, entry);
+        for (String word : entry.mWords) {
+            Set<String> placeIds = mWords.get(word);
+            if (placeIds == null) {
+                placeIds = new HashSet<>();
+                mWords.put(word, placeIds);
+            }
+            placeIds.add(placeId);
+        }
+
+        if (mEntries.size() > mMaxSize) {
+            remove(mEntriesByRecency.firstEntry().getValue().mPlaceId);
+        }
+    }
+
+    private @Nullable Entry remove(@NonNull String placeId) {
+        final Entry entry = mEntries.remove(placeId);
+        if (entry == null) {
+            return null;
+        }
+        mEntriesByRecency.remove(entry.mSequence);
+        for (String word : entry.mWords) {
+            final Set<String> placeIds = mWords.get(word);
+            if (placeIds != null) {
+                placeIds.remove(placeId);
+                if (placeIds.isEmpty()) {
+                    mWords.remove(word);
+                }
+            }
+        }
+        return entry;
+    }
+
+    private @NonNull Set<String> findByPrefix(@NonNull String prefix) {
+        final Set<String> placeIds = new HashSet<>();
+        final SortedMap<String, Set<String>> range =
+                mWords.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (Collection<String> ids : range.values()) {
+            placeIds.addAll(ids);
+        }
+        return placeIds;
+    }
+
+    private static @NonNull String normalize(@NonNull String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+
+    private static final class Entry implements AutocompletePrediction {
+        final @NonNull String mPlaceId;
+        final @NonNull String mPrimaryText;
+        final @NonNull String mSecondaryText;
+        final long mSequence;
+        final @NonNull Set<String> mWords = new HashSet<>();
+        final @NonNull Set<Scope> mScopes = new HashSet<>();
+
+        Entry(@NonNull String placeId, @NonNull String primaryText, @NonNull String secondaryText,
+                long sequence) {
+            mPlaceId = placeId;
+            mPrimaryText = primaryText;
+            mSecondaryText = secondaryText;
+            mSequence = sequence;
+
+            for (String word : normalize(primaryText + " " + secondaryText).split("[\\s,]+")) {
+                if (!word.isEmpty()) {
+                    mWords.add(word);
+                }
+            }
+        }
+
+        /**
+         * Returns whether the place was predicted for a query at least as restricted as one
+         * with the given country and type filter.
+         */
+        boolean matches(@Nullable String country, @Nullable TypeFilter typeFilter) {
+            for (Scope scope : mScopes) {
+                if ((country == null || TextUtils.equals(country, scope.mCountry))
+                        && (typeFilter == null || typeFilter == scope.mTypeFilter)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public @NonNull String getPlaceId() {
+            return mPlaceId;
+        }
+
+        @Override
+        public @NonNull String getPrimaryText() {
+            return mPrimaryText;
+        }
+
+        @Override
+        public @NonNull String getSecondaryText() {
+            return mSecondaryText;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Entry that = (Entry) obj;
+
+            return mPlaceId.equals(that.mPlaceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return mPlaceId.hashCode();
+        }
+    }
+
+    /**
+     * The restrictions of a query a place was predicted for.
+     */
+    private static final class Scope {
+        final @Nullable String mCountry;
+        final @Nullable TypeFilter mTypeFilter;
+
+        Scope(@Nullable String country, @Nullable TypeFilter typeFilter) {
+            mCountry = country;
+            mTypeFilter = typeFilter;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Scope that = (Scope) obj;
+
+            return TextUtils.equals(mCountry, that.mCountry) && mTypeFilter == that.mTypeFilter;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mCountry != null ? mCountry.hashCode() : 0;
+            result = 31 * result + (mTypeFilter != null ? mTypeFilter.hashCode() : 0);
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.PlacesExecutors;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
+
+/**
+ * A persistent store of place details that survives process restarts.
+ * <p>
+ * Only the {@link Place.Field#ID ID}, {@link Place.Field#NAME NAME}, {@link Place.Field#ADDRESS
+ * ADDRESS} and {@link Place.Field#LAT_LNG LAT_LNG} fields are stored, so only requests limited to
+ * these fields can be served from the store.
+ * <p>
+ * Places are written to an append-only file in a compact binary format. The file is read into
+ * memory on a background thread when the store is built, and compacted once it holds too many
+ * stale records. Each entry expires after the configured time-to-live, and the least recently
+ * used entries are dropped once the maximum size is reached.
+ * <p>
+ * A store is attached to a {@link CachingPlacesClient} with {@link
+ * CachingPlacesClient.Builder#setPlaceStore(PlaceStore)}. There is only one store per name
+ * within a process, which {@link Builder#build()} returns again for the same name, so that two
+ * stores never write the same file.
+ * <p>
+ * The files of all stores are read and written on a single background thread shared by the
+ * library, which is let go once idle.
+ *
+ * @since 1.1.0
+ */
+public final class PlaceStore {
+
+    private static final String TAG = "PlaceStore";
+
+    private static final int MAGIC = 0x504b5053; // "PKPS"
+    private static final int VERSION = 1;
+
+    private static final int SUPPORTED_FIELDS = maskOf(Place.Field.ID)
+            | maskOf(Place.Field.NAME)
+            | maskOf(Place.Field.ADDRESS)
+            | maskOf(Place.Field.LAT_LNG);
+
+    /** The stores built so far, by name. */
+    private static final Map<String, PlaceStore> sStores = new HashMap<>();
+
+    private final @NonNull File mFile;
+    private final int mMaxSize;
+    private final long mTimeToLiveMillis;
+
+    // Runs the tasks one at a time, in submission order.
+    private final @NonNull Executor mExecutor = PlacesExecutors.getDiskExecutor();
+
+    private final @NonNull LinkedHashMap<String, Record> mRecords;
+
+    private volatile boolean mLoaded;
+
+    /** Number of records in the file, including the stale ones. Only touched on mExecutor. */
+    private int mFileRecordCount;
+
+    private PlaceStore(@NonNull Builder builder) {
+        mFile = new File(builder.mContext.getNoBackupFilesDir(), "place_kit_" + builder.mName);
+        mMaxSize = builder.mMaxSize;
+        mTimeToLiveMillis = builder.mTimeToLiveMillis;
+
+        mRecords = new LinkedHashMap<String, Record>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Record> eldest) {
+                return size() > mMaxSize;
+            }
+        };
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                load();
+            }
+        });
+    }
+
+    /**
+     * Removes all stored places, both from memory and from disk.
+     */
+    public void clear() {
+        synchronized (mRecords) {
+            mRecords.clear();
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (mFile.exists() && !mFile.delete()) {
+                    Log.w(TAG, "Failed to delete " + mFile);
+                }
+                mFileRecordCount = 0;
+            }
+        });
+    }
+
+
+    /**
+     * Returns the stored response to the given request, or {@code null} if the place is not
+     * stored, has expired, lacks one of the requested fields, or the store is still loading.
+     */
+    @Nullable FetchPlaceResponse get(@NonNull FetchPlaceRequest request) {
+        if (!mLoaded) {
+            return null;
+        }
+
+        final int requestedFields = maskOf(request.getPlaceFields());
+        if ((requestedFields & ~SUPPORTED_FIELDS) != 0) {
+            return null;
+        }
+
+        final Record record;
+        synchronized (mRecords) {
+            record = mRecords.get(request.getPlaceId());
+            if (record == null) {
+                return null;
+            }
+            if (record.mExpiresAtMillis <= System.currentTimeMillis()) {
+                mRecords.remove(request.getPlaceId());
+                return null;
+            }
+        }
+
+        if ((requestedFields & ~record.mFields) != 0) {
+            return null;
+        }
+        return new SnapshotFetchPlaceResponse(record.mPlace);
+    }
+
+    /**
+     * Stores the place of the given response, if the request is limited to the fields supported
+     * by the store.
+     */
+    void put(@NonNull FetchPlaceRequest request, @NonNull FetchPlaceResponse response) {
+        final List<Place.Field> placeFields = request.getPlaceFields();
+        final int requestedFields = maskOf(placeFields);
+        if (placeFields == null || (requestedFields & ~SUPPORTED_FIELDS) != 0) {
+            return;
+        }
+
+        final Record record = new Record(
+                request.getPlaceId(),
+                requestedFields,
+                System.currentTimeMillis() + mTimeToLiveMillis,
+                PlaceSnapshot.of(response.getPlace(), placeFields));
+
+        synchronized (mRecords) {
+            mRecords.put(record.mPlaceId, record);
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                append(record);
+            }
+        });
+    }
+
+
+    @WorkerThread
+    private void load() {
+        final List<Record> records = new ArrayList<>();
+        boolean needsCompaction = false;
+        if (mFile.exists()) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(mFile)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("Unrecognized file format");
+                }
+                while (in.available() > 0) {
+                    records.add(Record.readFrom(in));
+                }
+            } catch (EOFException ex) {
+                // A record cut short by a process death, drop it before appending anything else.
+                needsCompaction = true;
+            } catch (IOException ex) {
+                Log.w(TAG, "Failed to read " + mFile, ex);
+                records.clear();
+                needsCompaction = true;
+            }
+        }
+
+        final long now = System.currentTimeMillis();
+        synchronized (mRecords) {
+            // Records stored while loading are newer than the ones read from the file.
+            final Map<String, Record> newer = new LinkedHashMap<>(mRecords);
+            mRecords.clear();
+            for (int iter = 0, size = records.size(); iter < size; iter++) {
+                final Record record = records.get(iter);
+                if (record.mExpiresAtMillis > now) {
+                    mRecords.put(record.mPlaceId, record);
+                }
+            }
+            mRecords.putAll(newer);
+        }
+        mFileRecordCount = records.size();
+        mLoaded = true;
+
+        if (needsCompaction || mFileRecordCount > mMaxSize) {
+            compact();
+        }
+    }
+
+    @WorkerThread
+    private void append(@NonNull Record record) {
+        if (mFileRecordCount >= 2 * mMaxSize) {
+            compact();
+            return;
+        }
+
+        final boolean isNew = !mFile.exists();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(mFile, true)))) {
+            if (isNew) {
+                writeHeader(out);
+            }
+            record.writeTo(out);
+            mFileRecordCount++;
+        } catch (IOException ex) {
+            Log.w(TAG, "Failed to write " + mFile, ex);
+        }
+    }
+
+    /**
+     * Rewrites the file with the live records only.
+     */
+    @WorkerThread
+    private void compact() {
+        final List<Record> records;
+        final long now = System.currentTimeMillis();
+        synchronized (mRecords) {
+            records = new ArrayList<>(mRecords.size());
+            for (Record record : mRecords.values()) {
+                if (record.mExpiresAtMillis > now) {
+                    records.add(record);
+                }
+            }
+        }
+
+        final File temp = new File(mFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp)))) {
+            writeHeader(out);
+            for (int iter = 0, size = records.size(); iter < size; iter++) {
+                records.get(iter).writeTo(out);
+            }
+        } catch (IOException ex) {
+            Log.w(TAG, "Failed to write " + temp, ex);
+            return;
+        }
+
+        if (temp.renameTo(mFile)) {
+            mFileRecordCount = records.size();
+        } else {
+            Log.w(TAG, "Failed to replace " + mFile);
+        }
+    }
+
+    private static void writeHeader(@NonNull DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+
+    private static int maskOf(@Nullable List<Place.Field> fields) {
+        int mask = 0;
+        if (fields != null) {
+            for (int iter = 0, size = fields.size(); iter < size; iter++) {
+                mask |= maskOf(fields.get(iter));
+            }
+        }
+        return mask;
+    }
+
+    private static int maskOf(@NonNull Place.Field field) {
+        return 1 << field.ordinal();
+    }
+
+
+    private static final class Record {
+        final @NonNull String mPlaceId;
+        final int mFields;
+        final long mExpiresAtMillis;
+        final @NonNull PlaceSnapshot mPlace;
+
+        Record(@NonNull String placeId,
+                int fields,
+                long expiresAtMillis,
+                @NonNull PlaceSnapshot place) {
+            mPlaceId = placeId;
+            mFields = fields;
+            mExpiresAtMillis = expiresAtMillis;
+            mPlace = place;
+        }
+
+        void writeTo(@NonNull DataOutputStream out) throws IOException {
+            out.writeUTF(mPlaceId);
+            out.writeInt(mFields);
+            out.writeLong(mExpiresAtMillis);
+            writeNullableUTF(out, mPlace.getName());
+            writeNullableUTF(out, mPlace.getAddress());
+            out.writeDouble(mPlace.getLatitude());
+            out.writeDouble(mPlace.getLongitude());
+        }
+
+        static @NonNull Record readFrom(@NonNull DataInputStream in) throws IOException {
+            final String placeId = in.readUTF();
+            final int fields = in.readInt();
+            final long expiresAtMillis = in.readLong();
+            final String name = readNullableUTF(in);
+            final String address = readNullableUTF(in);
+            final double latitude = in.readDouble();
+            final double longitude = in.readDouble();
+
+            final PlaceSnapshot.Builder place = new PlaceSnapshot.Builder();
+            if ((fields & maskOf(Place.Field.ID)) != 0) {
+                place.setId(placeId);
+            }
+            if (name != null) {
+                place.setName(name);
+            }
+            if (address != null) {
+                place.setAddress(address);
+            }
+            if ((fields & maskOf(Place.Field.LAT_LNG)) != 0) {
+                place.setLatLng(latitude, longitude);
+            }
+            return new Record(placeId, fields, expiresAtMillis, place.build());
+        }
+
+        private static void writeNullableUTF(
+                @NonNull DataOutputStream out, @Nullable String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        private static @Nullable String readNullableUTF(@NonNull DataInputStream in)
+                throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+    }
+
+
+    /**
+     * Builder for {@link PlaceStore}.
+     */
+    public static class Builder {
+        private static final String DEFAULT_NAME = "places";
+        private static final int DEFAULT_MAX_SIZE = 500;
+        private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+        final @NonNull Context mContext;
+        @NonNull String mName = DEFAULT_NAME;
+        int mMaxSize = DEFAULT_MAX_SIZE;
+        long mTimeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+
+        public Builder(@NonNull Context context) {
+            mContext = Preconditions.checkNotNull(context).getApplicationContext();
+        }
+
+        /**
+         * Sets the name of the file backing the store. Defaults to {@code "places"}.
+         */
+        public @NonNull Builder setName(@NonNull String name) {
+            mName = Preconditions.checkNotNull(name);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of stored places. Defaults to 500.
+         */
+        public @NonNull Builder setMaxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+            }
+            mMaxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a stored place stays valid after it was fetched. Defaults to 7 days.
+         */
+        public @NonNull Builder setTimeToLive(long duration, @NonNull TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+            mTimeToLiveMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Builds the store, or returns the one already built with the same name within this
+         * process.
+         *
+         * @throws IllegalStateException if the store already built with the same name has a
+         * different maximum size or time-to-live.
+         */
+        public @NonNull PlaceStore build() {
+            synchronized (sStores) {
+                PlaceStore store = sStores.get(mName);
+                if (store == null) {
+                    store = new PlaceStore(this);
+                    sStores.put(mName, store);
+                } else if (store.mMaxSize != mMaxSize
+                        || store.mTimeToLiveMillis != mTimeToLiveMillis) {
+                    throw new IllegalStateException(
+                            "A PlaceStore named " + mName + " was built with other settings");
+                }
+                return store;
+            }
+        }
+    }
+
+}
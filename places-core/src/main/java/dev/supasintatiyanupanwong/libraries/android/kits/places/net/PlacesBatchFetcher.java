@@ -0,0 +1,269 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * Fetches the details of many places through a {@link PlacesClient}, with a bounded number of
+ * requests in flight at any time.
+ * <p>
+ * A batch never fails as a whole. The outcome of each request is reported to the {@link
+ * OnPlaceFetchedListener} as soon as it is known, and collected into the {@link
+ * FetchPlacesResponse} the returned task completes with once every request is done.
+ * <p>
+ * Equal requests of a batch are only sent once, so each request appears exactly once in the
+ * response, either as a success or as a failure.
+ *
+ * @since 1.1.0
+ */
+public final class PlacesBatchFetcher {
+
+    private final @NonNull PlacesClient mClient;
+    private final int mMaxParallelism;
+
+    private PlacesBatchFetcher(@NonNull Builder builder) {
+        mClient = builder.mClient;
+        mMaxParallelism = builder.mMaxParallelism;
+    }
+
+    /**
+     * Fetches the details of the given places.
+     *
+     * @param requests The requests specifying the places of interest.
+     * @return A task used for observing the batch. Response containing the outcome of every
+     * request.
+     */
+    public @NonNull Task<FetchPlacesResponse> fetchPlaces(
+            @NonNull List<FetchPlaceRequest> requests) {
+        return fetchPlaces(requests, null);
+    }
+
+    /**
+     * Fetches the details of the given places, reporting the outcome of each request to the
+     * given listener as soon as it is known.
+     *
+     * @param requests The requests specifying the places of interest.
+     * @param listener The listener to report the outcome of each request to, on the main thread.
+     * @return A task used for observing the batch. Response containing the outcome of every
+     * request.
+     */
+    public @NonNull Task<FetchPlacesResponse> fetchPlaces(
+            @NonNull List<FetchPlaceRequest> requests,
+            @Nullable OnPlaceFetchedListener listener) {
+        final Batch batch =
+                new Batch(new ArrayList<>(new LinkedHashSet<>(requests)), listener);
+        batch.start();
+        return batch.mResult;
+    }
+
+
+    /**
+     * Receives the outcome of each request of a batch.
+     */
+    public interface OnPlaceFetchedListener {
+        /**
+         * Called when a request of the batch succeeds.
+         *
+         * @param request The request that succeeded.
+         * @param response The response to the request.
+         */
+        void onPlaceFetched(@NonNull FetchPlaceRequest request,
+                @NonNull FetchPlaceResponse response);
+
+        /**
+         * Called when a request of the batch fails.
+         *
+         * @param request The request that failed.
+         * @param exception The reason of the failure.
+         */
+        void onPlaceFetchFailed(@NonNull FetchPlaceRequest request,
+                @NonNull Exception exception);
+    }
+
+
+    private final class Batch {
+        final @NonNull List<FetchPlaceRequest> mRequests;
+        final @Nullable OnPlaceFetchedListener mListener;
+
+        final @NonNull FetchPlaceResponse[] mResponses;
+        final @NonNull Exception[] mFailures;
+
+        final @NonNull CompletableTask<FetchPlacesResponse> mResult = new CompletableTask<>();
+
+        private int mNextIndex;
+        private int mRemaining;
+
+        Batch(@NonNull List<FetchPlaceRequest> requests,
+                @Nullable OnPlaceFetchedListener listener) {
+            mRequests = requests;
+            mListener = listener;
+            mResponses = new FetchPlaceResponse[requests.size()];
+            mFailures = new Exception[requests.size()];
+            mRemaining = requests.size();
+        }
+
+        void start() {
+            if (mRequests.isEmpty()) {
+                complete();
+                return;
+            }
+            for (int iter = 0; iter < mMaxParallelism; iter++) {
+                sendNext();
+            }
+        }
+
+        private void sendNext() {
+            final int index;
+            synchronized (this) {
+                if (mNextIndex >= mRequests.size()) {
+                    return;
+                }
+                index = mNextIndex++;
+            }
+
+            final FetchPlaceRequest request = mRequests.get(index);
+            Task<FetchPlaceResponse> task;
+            try {
+                task = mClient.fetchPlace(request);
+            } catch (RuntimeException ex) {
+                // Reported through a task like any other failure, on the main thread, rather than
+                // sending the next request from within this one.
+                task = CompletableTask.forException(ex);
+            }
+            task.addOnCompleteListener(new OnCompleteListener<FetchPlaceResponse>() {
+                @Override
+                public void onComplete(@NonNull Task<FetchPlaceResponse> task) {
+                    onRequestComplete(index, request,
+                            task.isSuccessful() ? task.getResult() : null,
+                            task.getException());
+                }
+            });
+        }
+
+        private void onRequestComplete(int index, @NonNull FetchPlaceRequest request,
+                @Nullable FetchPlaceResponse response, @Nullable Exception failure) {
+            if (response != null) {
+                mResponses[index] = response;
+                if (mListener != null) {
+                    mListener.onPlaceFetched(request, response);
+                }
+            } else {
+                final Exception exception = failure != null
+                        ? failure
+                        : new IllegalStateException("No response for " + request);
+                mFailures[index] = exception;
+                if (mListener != null) {
+                    mListener.onPlaceFetchFailed(request, exception);
+                }
+            }
+
+            final boolean done;
+            synchronized (this) {
+                done = --mRemaining == 0;
+            }
+            if (done) {
+                complete();
+            } else {
+                sendNext();
+            }
+        }
+
+        private void complete() {
+            final Map<FetchPlaceRequest, FetchPlaceResponse> responses = new LinkedHashMap<>();
+            final Map<FetchPlaceRequest, Exception> failures = new LinkedHashMap<>();
+            for (int iter = 0, size = mRequests.size(); iter < size; iter++) {
+                if (mResponses[iter] != null) {
+                    responses.put(mRequests.get(iter), mResponses[iter]);
+                } else if (mFailures[iter] != null) {
+                    failures.put(mRequests.get(iter), mFailures[iter]);
+                }
+            }
+            mResult.trySetResult(new BatchFetchPlacesResponse(responses, failures));
+        }
+    }
+
+    private static final class BatchFetchPlacesResponse implements FetchPlacesResponse {
+        private final @NonNull Map<FetchPlaceRequest, FetchPlaceResponse> mResponses;
+        private final @NonNull Map<FetchPlaceRequest, Exception> mFailures;
+
+        BatchFetchPlacesResponse(
+                @NonNull Map<FetchPlaceRequest, FetchPlaceResponse> responses,
+                @NonNull Map<FetchPlaceRequest, Exception> failures) {
+            mResponses = Collections.unmodifiableMap(responses);
+            mFailures = Collections.unmodifiableMap(failures);
+        }
+
+        @Override
+        public @NonNull Map<FetchPlaceRequest, FetchPlaceResponse> getResponses() {
+            return mResponses;
+        }
+
+        @Override
+        public @NonNull Map<FetchPlaceRequest, Exception> getFailures() {
+            return mFailures;
+        }
+    }
+
+
+    /**
+     * Builder for {@link PlacesBatchFetcher}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_PARALLELISM = 4;
+
+        final @NonNull PlacesClient mClient;
+        int mMaxParallelism = DEFAULT_MAX_PARALLELISM;
+
+        /**
+         * @param client The client that serves the requests of the batches.
+         */
+        public Builder(@NonNull PlacesClient client) {
+            mClient = Preconditions.checkNotNull(client);
+        }
+
+        /**
+         * Sets the maximum number of requests in flight at any time. Defaults to 4.
+         */
+        public @NonNull Builder setMaxParallelism(int maxParallelism) {
+            if (maxParallelism <= 0) {
+                throw new IllegalArgumentException(
+                        "maxParallelism must be positive: " + maxParallelism);
+            }
+            mMaxParallelism = maxParallelism;
+            return this;
+        }
+
+        public @NonNull PlacesBatchFetcher build() {
+            return new PlacesBatchFetcher(this);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.PlacesExecutors;
+
+/**
+ * Settings of the {@link PlacesClient}s created by {@link PlaceKit}.
+ *
+ * @see PlaceKit#createClient(android.content.Context, PlacesClientSettings)
+ * @since 1.1.0
+ */
+public final class PlacesClientSettings {
+
+    private final @NonNull Executor mMappingExecutor;
+    private final long mDefaultTimeoutMillis;
+
+    private PlacesClientSettings(@NonNull Builder builder) {
+        mMappingExecutor = builder.mMappingExecutor;
+        mDefaultTimeoutMillis = builder.mDefaultTimeoutMillis;
+    }
+
+    /**
+     * Returns the executor the responses of the provider are mapped to the ones of the library
+     * on.
+     */
+    public @NonNull Executor getMappingExecutor() {
+        return mMappingExecutor;
+    }
+
+    /**
+     * Returns how long each provider call of the requests not setting a timeout of their own
+     * may take, in milliseconds, or {@code 0} for no timeout.
+     */
+    public long getDefaultTimeoutMillis() {
+        return mDefaultTimeoutMillis;
+    }
+
+    /**
+     * Returns the timeout of each provider call of the given request, in milliseconds, falling
+     * back to the default timeout when the request doesn't set any.
+     */
+    public long getTimeoutMillis(@NonNull FetchPlaceRequest request) {
+        return request.getTimeoutMillis() > 0 ? request.getTimeoutMillis() : mDefaultTimeoutMillis;
+    }
+
+    /**
+     * Returns the timeout of each provider call of the given request, in milliseconds, falling
+     * back to the default timeout when the request doesn't set any.
+     */
+    public long getTimeoutMillis(@NonNull FindAutocompletePredictionsRequest request) {
+        return request.getTimeoutMillis() > 0 ? request.getTimeoutMillis() : mDefaultTimeoutMillis;
+    }
+
+
+    /**
+     * Builder for {@link PlacesClientSettings}.
+     */
+    public static class Builder {
+        @NonNull Executor mMappingExecutor = PlacesExecutors.getMappingExecutor();
+        long mDefaultTimeoutMillis;
+
+        /**
+         * Sets the executor to map the responses of the provider to the ones of the library on,
+         * such as wrapping fetched places. Defaults to a small pool of background threads
+         * shared by the whole library.
+         * <p>
+         * Predictions are the exception: each one is only wrapped when first read, on the reading
+         * thread, so that the ones never shown cost nothing.
+         * <p>
+         * The listeners of the returned tasks are still called on the executor they were added
+         * with, the main thread by default.
+         */
+        public @NonNull Builder setMappingExecutor(@NonNull Executor executor) {
+            mMappingExecutor = Preconditions.checkNotNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets how long the requests not setting a timeout of their own may take, counted from
+         * when they're sent to the provider, before they fail with a {@link
+         * PlacesException.Kind#TIMEOUT TIMEOUT} error. A late response of the provider is then
+         * dropped without being mapped. Defaults to {@code 0}, no timeout.
+         * <p>
+         * Like the timeout of a request, it applies to each provider call only, and doesn't
+         * bound the time a request spends queued or retried by the clients wrapping this one.
+         */
+        public @NonNull Builder setDefaultTimeout(long timeout, @NonNull TimeUnit unit) {
+            if (timeout < 0) {
+                throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+            }
+            mDefaultTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public @NonNull PlacesClientSettings build() {
+            return new PlacesClientSettings(this);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+
+/**
+ * The exception a {@link PlacesClient} call fails with, whichever provider served it, telling
+ * whether the call is worth retrying.
+ *
+ * @since 1.1.0
+ */
+public class PlacesException extends IOException {
+
+    private final @NonNull Kind mKind;
+
+    public PlacesException(@NonNull Kind kind, @NonNull String message) {
+        this(kind, message, null);
+    }
+
+    public PlacesException(
+            @NonNull Kind kind, @NonNull String message, @Nullable Throwable cause) {
+        super(message, cause);
+        mKind = Preconditions.checkNotNull(kind);
+    }
+
+    public @NonNull Kind getKind() {
+        return mKind;
+    }
+
+    /**
+     * Returns whether the same call may succeed if retried later.
+     */
+    public boolean isRetryable() {
+        return mKind != Kind.PERMANENT;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return getClass().getName() + "[" + mKind + "]: " + getMessage();
+    }
+
+
+    /**
+     * Returns the kind of the given exception, treating any {@link IOException} other than a
+     * {@link PlacesException} as {@link Kind#TRANSIENT}, and any other exception as {@link
+     * Kind#PERMANENT}.
+     */
+    public static @NonNull Kind kindOf(@NonNull Exception exception) {
+        if (exception instanceof PlacesException) {
+            return ((PlacesException) exception).mKind;
+        }
+        return exception instanceof IOException ? Kind.TRANSIENT : Kind.PERMANENT;
+    }
+
+
+    /**
+     * The kinds of failures of a call.
+     */
+    public enum Kind {
+        /** The quota of the provider, or of the client, is exceeded. Retry after backing off. */
+        THROTTLED,
+        /** The provider can't be reached or failed temporarily. Retry after backing off. */
+        TRANSIENT,
+        /** The call didn't complete within its timeout. Retry, or fall back to another source. */
+        TIMEOUT,
+        /** The call is invalid, denied, or asks for something that doesn't exist. */
+        PERMANENT
+    }
+
+}
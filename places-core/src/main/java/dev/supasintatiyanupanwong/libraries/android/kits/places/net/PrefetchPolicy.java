@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Build;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+
+/**
+ * Policy of a {@link CachingPlacesClient} for fetching the details of the top autocomplete
+ * predictions ahead of time, so that the place a user picks from them is usually fetched by then.
+ * <p>
+ * Prefetch requests are sent with {@link RequestPriority#BACKGROUND background} priority, and
+ * only while the active network is unmetered, or reports at least the minimum downstream
+ * bandwidth. As every prefetch is a request billed by the provider, prefetch as few predictions
+ * as the UI makes likely to be picked.
+ * <p>
+ * Checking the network requires the {@link Manifest.permission#ACCESS_NETWORK_STATE} permission,
+ * which the library doesn't declare for apps not prefetching. Without it, nothing is prefetched.
+ *
+ * @see CachingPlacesClient.Builder#setPrefetchPolicy(PrefetchPolicy)
+ * @since 1.1.0
+ */
+public final class PrefetchPolicy {
+
+    private final @Nullable ConnectivityManager mConnectivityManager;
+    private final @NonNull List<Place.Field> mPlaceFields;
+    private final int mMaxPredictions;
+    private final int mMinBandwidthKbps;
+
+    private PrefetchPolicy(@NonNull Builder builder) {
+        mConnectivityManager = canAccessNetworkState(builder.mContext)
+                ? (ConnectivityManager) builder.mContext
+                        .getSystemService(Context.CONNECTIVITY_SERVICE)
+                : null;
+        mPlaceFields = builder.mPlaceFields;
+        mMaxPredictions = builder.mMaxPredictions;
+        mMinBandwidthKbps = builder.mMinBandwidthKbps;
+    }
+
+    /**
+     * Returns the requests to prefetch the top predictions of the given response with, or an
+     * empty list if the network isn't suitable for prefetching right now.
+     */
+    @NonNull List<FetchPlaceRequest> getRequests(
+            @NonNull FindAutocompletePredictionsResponse response) {
+        final List<AutocompletePrediction> predictions = response.getAutocompletePredictions();
+        if (predictions.isEmpty() || !isNetworkSuitable()) {
+            return Collections.emptyList();
+        }
+
+        final int count = Math.min(predictions.size(), mMaxPredictions);
+        final List<FetchPlaceRequest> requests = new ArrayList<>(count);
+        for (int iter = 0; iter < count; iter++) {
+            requests.add(new FetchPlaceRequest.Builder()
+                    .setPlaceId(predictions.get(iter).getPlaceId())
+                    .setPlaceFields(mPlaceFields)
+                    .setPriority(RequestPriority.BACKGROUND)
+                    .build());
+        }
+        return requests;
+    }
+
+
+    private static boolean canAccessNetworkState(@NonNull Context context) {
+        return context.checkPermission(Manifest.permission.ACCESS_NETWORK_STATE,
+                Process.myPid(), Process.myUid()) == PackageManager.PERMISSION_GRANTED;
+    }
+
+    private boolean isNetworkSuitable() {
+        if (mConnectivityManager == null) {
+            return false;
+        }
+        if (!mConnectivityManager.isActiveNetworkMetered()) {
+            return true;
+        }
+        if (mMinBandwidthKbps <= 0 || Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return false;
+        }
+
+        final Network network = mConnectivityManager.getActiveNetwork();
+        final NetworkCapabilities capabilities = network != null
+                ? mConnectivityManager.getNetworkCapabilities(network)
+                : null;
+        return capabilities != null
+                && capabilities.getLinkDownstreamBandwidthKbps() >= mMinBandwidthKbps;
+    }
+
+
+    /**
+     * Builder for {@link PrefetchPolicy}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_PREDICTIONS = 2;
+
+        final @NonNull Context mContext;
+        final @NonNull List<Place.Field> mPlaceFields;
+        int mMaxPredictions = DEFAULT_MAX_PREDICTIONS;
+        int mMinBandwidthKbps;
+
+        /**
+         * @param context The context to check the state of the network with.
+         * @param placeFields The fields to prefetch, which must be the ones the place of the
+         * picked prediction is fetched with for the prefetched details to be used.
+         */
+        public Builder(@NonNull Context context, @NonNull List<Place.Field> placeFields) {
+            mContext = Preconditions.checkNotNull(context).getApplicationContext();
+            mPlaceFields = Collections.unmodifiableList(
+                    new ArrayList<>(Preconditions.checkNotNull(placeFields)));
+        }
+
+        /**
+         * Sets how many of the top predictions of each response to prefetch. Defaults to 2.
+         */
+        public @NonNull Builder setMaxPredictions(int maxPredictions) {
+            if (maxPredictions <= 0) {
+                throw new IllegalArgumentException(
+                        "maxPredictions must be positive: " + maxPredictions);
+            }
+            mMaxPredictions = maxPredictions;
+            return this;
+        }
+
+        /**
+         * Allows prefetching on metered networks reporting at least the given downstream
+         * bandwidth, on Android 6.0 and later. By default, only unmetered networks are used.
+         */
+        public @NonNull Builder setMinDownstreamBandwidth(int kbps) {
+            if (kbps <= 0) {
+                throw new IllegalArgumentException("kbps must be positive: " + kbps);
+            }
+            mMinBandwidthKbps = kbps;
+            return this;
+        }
+
+        public @NonNull PrefetchPolicy build() {
+            return new PrefetchPolicy(this);
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that limits the rate of the calls to the wrapped client, with a token
+ * bucket per operation.
+ * <p>
+ * Calls beyond the rate are delayed until a token is refilled, as long as it doesn't take
+ * longer than the maximum wait. Otherwise they fail right away with a {@link PlacesException}
+ * of kind {@link PlacesException.Kind#THROTTLED}, without reaching the provider.
+ *
+ * @since 1.1.0
+ */
+public final class RateLimitingPlacesClient implements PlacesClient {
+
+    private final @NonNull PlacesClient mDelegate;
+    private final @Nullable TokenBucket mPredictionsBucket;
+    private final @Nullable TokenBucket mPlacesBucket;
+    private final long mMaxWaitNanos;
+
+    private final @NonNull Handler mHandler = new Handler(Looper.getMainLooper());
+
+    private RateLimitingPlacesClient(@NonNull Builder builder) {
+        mDelegate = builder.mDelegate;
+        mPredictionsBucket = builder.mPredictionsRate > 0
+                ? new TokenBucket(builder.mPredictionsRate, builder.mPredictionsBurst)
+                : null;
+        mPlacesBucket = builder.mPlacesRate > 0
+                ? new TokenBucket(builder.mPlacesRate, builder.mPlacesBurst)
+                : null;
+        mMaxWaitNanos = builder.mMaxWaitNanos;
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            final @NonNull FindAutocompletePredictionsRequest request) {
+        return call(mPredictionsBucket, request.getCancellationToken(),
+                new Call<FindAutocompletePredictionsResponse>() {
+                    @Override
+                    public @NonNull Task<FindAutocompletePredictionsResponse> send() {
+                        return mDelegate.findAutocompletePredictions(request);
+                    }
+                });
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(final @NonNull FetchPlaceRequest request) {
+        return call(mPlacesBucket, request.getCancellationToken(), new Call<FetchPlaceResponse>() {
+            @Override
+            public @NonNull Task<FetchPlaceResponse> send() {
+                return mDelegate.fetchPlace(request);
+            }
+        });
+    }
+
+
+    private @NonNull <T> Task<T> call(@Nullable TokenBucket bucket,
+            @Nullable CancellationToken cancellationToken, final @NonNull Call<T> call) {
+        final long waitNanos = bucket != null ? bucket.reserve(mMaxWaitNanos) : 0;
+        if (waitNanos == 0) {
+            return call.send();
+        }
+        if (waitNanos < 0) {
+            return CompletableTask.forException(new PlacesException(
+                    PlacesException.Kind.THROTTLED, "Client-side rate limit exceeded"));
+        }
+
+        final CompletableTask<T> result = new CompletableTask<T>().cancelOn(cancellationToken);
+        mHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                if (result.isComplete()) {
+                    // Canceled while delayed.
+                    return;
+                }
+                call.send().addOnCompleteListener(DirectExecutor.INSTANCE,
+                        new OnCompleteListener<T>() {
+                            @Override
+                            public void onComplete(@NonNull Task<T> task) {
+                                result.trySetFrom(task);
+                            }
+                        });
+            }
+        }, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return result;
+    }
+
+
+    private interface Call<T> {
+        @NonNull Task<T> send();
+    }
+
+
+    /**
+     * Builder for {@link RateLimitingPlacesClient}.
+     */
+    public static class Builder {
+        private static final long DEFAULT_MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        final @NonNull PlacesClient mDelegate;
+        double mPredictionsRate;
+        int mPredictionsBurst;
+        double mPlacesRate;
+        int mPlacesBurst;
+        long mMaxWaitNanos = DEFAULT_MAX_WAIT_NANOS;
+
+        /**
+         * @param delegate The client to limit the calls to.
+         */
+        public Builder(@NonNull PlacesClient delegate) {
+            mDelegate = Preconditions.checkNotNull(delegate);
+        }
+
+        /**
+         * Limits the rate of {@link #findAutocompletePredictions} calls. Unlimited by default.
+         *
+         * @param permitsPerSecond The sustained rate of calls.
+         * @param burst The number of calls allowed at once after an idle period.
+         */
+        public @NonNull Builder setPredictionsRateLimit(double permitsPerSecond, int burst) {
+            checkRateLimit(permitsPerSecond, burst);
+            mPredictionsRate = permitsPerSecond;
+            mPredictionsBurst = burst;
+            return this;
+        }
+
+        /**
+         * Limits the rate of {@link #fetchPlace} calls. Unlimited by default.
+         *
+         * @param permitsPerSecond The sustained rate of calls.
+         * @param burst The number of calls allowed at once after an idle period.
+         */
+        public @NonNull Builder setPlacesRateLimit(double permitsPerSecond, int burst) {
+            checkRateLimit(permitsPerSecond, burst);
+            mPlacesRate = permitsPerSecond;
+            mPlacesBurst = burst;
+            return this;
+        }
+
+        /**
+         * Sets how long a call may be delayed for a token before it fails as throttled.
+         * Defaults to 1 second.
+         */
+        public @NonNull Builder setMaxWait(long duration, @NonNull TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("duration must not be negative: " + duration);
+            }
+            mMaxWaitNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public @NonNull RateLimitingPlacesClient build() {
+            return new RateLimitingPlacesClient(this);
+        }
+
+
+        private static void checkRateLimit(double permitsPerSecond, int burst) {
+            if (!(permitsPerSecond > 0)) {
+                throw new IllegalArgumentException(
+                        "permitsPerSecond must be positive: " + permitsPerSecond);
+            }
+            if (burst <= 0) {
+                throw new IllegalArgumentException("burst must be positive: " + burst);
+            }
+        }
+    }
+
+}
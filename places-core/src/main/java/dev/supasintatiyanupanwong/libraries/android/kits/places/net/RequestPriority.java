@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+/**
+ * The priority of a request, telling apart the requests a user is waiting for from the ones
+ * sent ahead of time or on the behalf of the app.
+ * <p>
+ * Priorities are honored by {@link SchedulingPlacesClient}. Other clients send requests as they
+ * come, whatever their priority.
+ *
+ * @since 1.1.0
+ */
+public enum RequestPriority {
+    /**
+     * A request a user is waiting for, such as autocomplete predictions for what they're typing.
+     * The default priority of requests.
+     */
+    INTERACTIVE,
+
+    /**
+     * A request nobody is waiting for yet, such as prefetching or hydrating places on a map.
+     */
+    BACKGROUND
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that retries the {@link #fetchPlace(FetchPlaceRequest)} calls of the
+ * wrapped client failing with a {@link PlacesException#isRetryable() retryable} error.
+ * <p>
+ * Each retry waits for an exponentially growing backoff, drawn at random between zero and its
+ * bound so that clients failing at once don't retry at once. Autocomplete calls are not
+ * retried, as their result is usually superseded by the next keystroke before a retry would
+ * complete.
+ * <p>
+ * Wrap a {@link RateLimitingPlacesClient} to keep the retries within the rate limit.
+ *
+ * @since 1.1.0
+ */
+public final class RetryingPlacesClient implements PlacesClient {
+
+    private final @NonNull PlacesClient mDelegate;
+    private final int mMaxRetries;
+    private final long mInitialBackoffMillis;
+    private final long mMaxBackoffMillis;
+
+    private final @NonNull Handler mHandler = new Handler(Looper.getMainLooper());
+
+    private RetryingPlacesClient(@NonNull Builder builder) {
+        mDelegate = builder.mDelegate;
+        mMaxRetries = builder.mMaxRetries;
+        mInitialBackoffMillis = builder.mInitialBackoffMillis;
+        mMaxBackoffMillis = builder.mMaxBackoffMillis;
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        return mDelegate.findAutocompletePredictions(request);
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        final CompletableTask<FetchPlaceResponse> result = new CompletableTask<FetchPlaceResponse>()
+                .cancelOn(request.getCancellationToken());
+        fetchPlace(request, 0, result);
+        return result;
+    }
+
+
+    private void fetchPlace(final @NonNull FetchPlaceRequest request, final int attempt,
+            final @NonNull CompletableTask<FetchPlaceResponse> result) {
+        if (result.isComplete()) {
+            // Canceled while backing off.
+            return;
+        }
+        mDelegate.fetchPlace(request).addOnCompleteListener(DirectExecutor.INSTANCE,
+                new OnCompleteListener<FetchPlaceResponse>() {
+                    @Override
+                    public void onComplete(@NonNull Task<FetchPlaceResponse> task) {
+                        final Exception exception = task.getException();
+                        final boolean retryable = !task.isCanceled() && exception != null
+                                && PlacesException.kindOf(exception)
+                                        != PlacesException.Kind.PERMANENT;
+                        if (!retryable || attempt >= mMaxRetries) {
+                            result.trySetFrom(task);
+                            return;
+                        }
+
+                        mHandler.postDelayed(new Runnable() {
+                            @Override
+                            public void run() {
+                                fetchPlace(request, attempt + 1, result);
+                            }
+                        }, getBackoffMillis(attempt));
+                    }
+                });
+    }
+
+    /**
+     * Returns the backoff before the given retry, drawn between zero and its exponential bound.
+     */
+    private long getBackoffMillis(int attempt) {
+        final long bound = mInitialBackoffMillis << Math.min(attempt, 30);
+        final long cappedBound = bound < 0 ? mMaxBackoffMillis : Math.min(bound, mMaxBackoffMillis);
+        return ThreadLocalRandom.current().nextLong(cappedBound + 1);
+    }
+
+
+    /**
+     * Builder for {@link RetryingPlacesClient}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_RETRIES = 3;
+        private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 200;
+        private static final long DEFAULT_MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+        final @NonNull PlacesClient mDelegate;
+        int mMaxRetries = DEFAULT_MAX_RETRIES;
+        long mInitialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+        long mMaxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+
+        /**
+         * @param delegate The client to retry the calls of.
+         */
+        public Builder(@NonNull PlacesClient delegate) {
+            mDelegate = Preconditions.checkNotNull(delegate);
+        }
+
+        /**
+         * Sets the maximum number of retries of a call. Defaults to 3.
+         */
+        public @NonNull Builder setMaxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException(
+                        "maxRetries must not be negative: " + maxRetries);
+            }
+            mMaxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the bound of the backoff before the first retry, doubled for every next one.
+         * Defaults to 200 milliseconds.
+         */
+        public @NonNull Builder setInitialBackoff(long duration, @NonNull TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+            mInitialBackoffMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Sets the maximum bound of the backoff before a retry. Defaults to 5 seconds.
+         */
+        public @NonNull Builder setMaxBackoff(long duration, @NonNull TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("duration must be positive: " + duration);
+            }
+            mMaxBackoffMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        public @NonNull RetryingPlacesClient build() {
+            return new RetryingPlacesClient(this);
+        }
+    }
+
+}
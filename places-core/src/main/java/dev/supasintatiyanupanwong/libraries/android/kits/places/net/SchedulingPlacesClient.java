@@ -0,0 +1,286 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.OnCompleteListener;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+/**
+ * A {@link PlacesClient} that schedules the calls to the wrapped client by their {@link
+ * RequestPriority}, so that background traffic doesn't delay the requests a user is waiting for.
+ * <p>
+ * Each priority has its own limit of calls in flight, beyond which calls are queued in arrival
+ * order. Queued {@link RequestPriority#BACKGROUND background} calls are deferred for as long as
+ * any {@link RequestPriority#INTERACTIVE interactive} call is queued, so interactive calls are
+ * always sent first once a slot frees up.
+ * <p>
+ * Requests differing only by priority are equal, so a {@link CoalescingPlacesClient} may
+ * answer an interactive request with the result of a background one. Wrap it with this client,
+ * rather than the other way around, for an interactive request not to wait behind an identical
+ * background request that is still queued. A {@link CachingPlacesClient} prefetching places
+ * should wrap this client instead, for its prefetches to be scheduled in the background.
+ *
+ * @since 1.1.0
+ */
+public final class SchedulingPlacesClient implements PlacesClient {
+
+    private final @NonNull PlacesClient mDelegate;
+    private final int mMaxInteractiveCalls;
+    private final int mMaxBackgroundCalls;
+
+    private final @NonNull ArrayDeque<Call<?>> mInteractiveQueue = new ArrayDeque<>();
+    private final @NonNull ArrayDeque<Call<?>> mBackgroundQueue = new ArrayDeque<>();
+    private int mInteractiveCalls;
+    private int mBackgroundCalls;
+    private boolean mDispatching;
+
+    private SchedulingPlacesClient(@NonNull Builder builder) {
+        mDelegate = builder.mDelegate;
+        mMaxInteractiveCalls = builder.mMaxInteractiveCalls;
+        mMaxBackgroundCalls = builder.mMaxBackgroundCalls;
+    }
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            final @NonNull FindAutocompletePredictionsRequest request) {
+        return schedule(new Call<FindAutocompletePredictionsResponse>(
+                request.getPriority(), request.getCancellationToken()) {
+            @Override
+            @NonNull Task<FindAutocompletePredictionsResponse> send() {
+                return mDelegate.findAutocompletePredictions(request);
+            }
+        });
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(final @NonNull FetchPlaceRequest request) {
+        return schedule(new Call<FetchPlaceResponse>(
+                request.getPriority(), request.getCancellationToken()) {
+            @Override
+            @NonNull Task<FetchPlaceResponse> send() {
+                return mDelegate.fetchPlace(request);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of calls of the given priority waiting for a slot.
+     */
+    public synchronized int getQueuedCallCount(@NonNull RequestPriority priority) {
+        return priority == RequestPriority.INTERACTIVE
+                ? mInteractiveQueue.size()
+                : mBackgroundQueue.size();
+    }
+
+
+    /**
+     * Removes the call canceled by the given token from its queue, if it's still queued, so that
+     * canceling the token then doesn't cancel a call already sent.
+     *
+     * @return whether the call was still queued.
+     */
+    synchronized boolean removeQueuedCall(@NonNull CancellationToken cancellationToken) {
+        return removeCall(mBackgroundQueue, cancellationToken)
+                || removeCall(mInteractiveQueue, cancellationToken);
+    }
+
+
+    private @NonNull <T> Task<T> schedule(@NonNull Call<T> call) {
+        synchronized (this) {
+            if (call.mPriority == RequestPriority.INTERACTIVE) {
+                mInteractiveQueue.add(call);
+            } else {
+                mBackgroundQueue.add(call);
+            }
+        }
+        dispatch();
+        return call.mResult;
+    }
+
+    /**
+     * Sends the queued calls for which there are free slots.
+     * <p>
+     * Calls completing synchronously free their slot while being sent, so only one thread
+     * dispatches at a time, in a loop, rather than recursing into itself.
+     */
+    private void dispatch() {
+        synchronized (this) {
+            if (mDispatching) {
+                return;
+            }
+            mDispatching = true;
+        }
+
+        boolean drained = false;
+        try {
+            while (true) {
+                final Call<?> call;
+                synchronized (this) {
+                    call = nextCall();
+                    if (call == null) {
+                        // Cleared along with finding no call, so that a call queued meanwhile
+                        // is dispatched by the thread queuing it.
+                        mDispatching = false;
+                        drained = true;
+                        return;
+                    }
+                }
+                call.start();
+            }
+        } finally {
+            if (!drained) {
+                synchronized (this) {
+                    mDispatching = false;
+                }
+            }
+        }
+    }
+
+    private @Nullable Call<?> nextCall() {
+        dropCanceledCalls(mInteractiveQueue);
+        dropCanceledCalls(mBackgroundQueue);
+
+        if (!mInteractiveQueue.isEmpty()) {
+            if (mInteractiveCalls < mMaxInteractiveCalls) {
+                mInteractiveCalls++;
+                return mInteractiveQueue.poll();
+            }
+            return null;
+        }
+        if (!mBackgroundQueue.isEmpty() && mBackgroundCalls < mMaxBackgroundCalls) {
+            mBackgroundCalls++;
+            return mBackgroundQueue.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the calls canceled while queued from the head of the given queue, so that they
+     * don't take a slot.
+     */
+    private static void dropCanceledCalls(@NonNull ArrayDeque<Call<?>> queue) {
+        while (!queue.isEmpty() && queue.peek().mResult.isComplete()) {
+            queue.poll();
+        }
+    }
+
+    private static boolean removeCall(
+            @NonNull ArrayDeque<Call<?>> queue, @NonNull CancellationToken cancellationToken) {
+        for (Iterator<Call<?>> iter = queue.iterator(); iter.hasNext(); ) {
+            if (iter.next().mCancellationToken == cancellationToken) {
+                iter.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onCallComplete(@NonNull RequestPriority priority) {
+        synchronized (this) {
+            if (priority == RequestPriority.INTERACTIVE) {
+                mInteractiveCalls--;
+            } else {
+                mBackgroundCalls--;
+            }
+        }
+        dispatch();
+    }
+
+
+    private abstract class Call<T> {
+        final @NonNull RequestPriority mPriority;
+        final @Nullable CancellationToken mCancellationToken;
+        final @NonNull CompletableTask<T> mResult;
+
+        Call(@NonNull RequestPriority priority, @Nullable CancellationToken cancellationToken) {
+            mPriority = priority;
+            mCancellationToken = cancellationToken;
+            mResult = new CompletableTask<T>().cancelOn(cancellationToken);
+        }
+
+        abstract @NonNull Task<T> send();
+
+        void start() {
+            final Task<T> task;
+            try {
+                task = send();
+            } catch (RuntimeException ex) {
+                mResult.trySetException(ex);
+                onCallComplete(mPriority);
+                return;
+            }
+            task.addOnCompleteListener(DirectExecutor.INSTANCE, new OnCompleteListener<T>() {
+                @Override
+                public void onComplete(@NonNull Task<T> task) {
+                    mResult.trySetFrom(task);
+                    onCallComplete(mPriority);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Builder for {@link SchedulingPlacesClient}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_MAX_INTERACTIVE_CALLS = 4;
+        private static final int DEFAULT_MAX_BACKGROUND_CALLS = 2;
+
+        final @NonNull PlacesClient mDelegate;
+        int mMaxInteractiveCalls = DEFAULT_MAX_INTERACTIVE_CALLS;
+        int mMaxBackgroundCalls = DEFAULT_MAX_BACKGROUND_CALLS;
+
+        /**
+         * @param delegate The client to schedule the calls to.
+         */
+        public Builder(@NonNull PlacesClient delegate) {
+            mDelegate = Preconditions.checkNotNull(delegate);
+        }
+
+        /**
+         * Sets the maximum number of calls of the given priority in flight at any time. Defaults
+         * to 4 interactive and 2 background calls.
+         */
+        public @NonNull Builder setMaxConcurrentCalls(
+                @NonNull RequestPriority priority, int maxCalls) {
+            if (maxCalls <= 0) {
+                throw new IllegalArgumentException("maxCalls must be positive: " + maxCalls);
+            }
+            if (priority == RequestPriority.INTERACTIVE) {
+                mMaxInteractiveCalls = maxCalls;
+            } else {
+                mMaxBackgroundCalls = maxCalls;
+            }
+            return this;
+        }
+
+        public @NonNull SchedulingPlacesClient build() {
+            return new SchedulingPlacesClient(this);
+        }
+    }
+
+}
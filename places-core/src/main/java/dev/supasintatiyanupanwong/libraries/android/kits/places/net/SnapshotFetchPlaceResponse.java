@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
+
+/**
+ * A {@link FetchPlaceResponse} holding a {@link PlaceSnapshot}, as kept by the caches.
+ */
+final class SnapshotFetchPlaceResponse implements FetchPlaceResponse {
+
+    private final @NonNull PlaceSnapshot mPlace;
+
+    SnapshotFetchPlaceResponse(@NonNull PlaceSnapshot place) {
+        mPlace = place;
+    }
+
+    @Override
+    public @NonNull PlaceSnapshot getPlace() {
+        return mPlace;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        SnapshotFetchPlaceResponse that = (SnapshotFetchPlaceResponse) obj;
+
+        return mPlace.equals(that.mPlace);
+    }
+
+    @Override
+    public int hashCode() {
+        return mPlace.hashCode();
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "FetchPlaceResponse{place=" + mPlace + "}";
+    }
+
+}
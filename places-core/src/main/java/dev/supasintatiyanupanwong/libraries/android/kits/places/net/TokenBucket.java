@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.net;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket refilling at a steady rate up to a burst size.
+ * <p>
+ * A call takes a token if one is available, or reserves the next one to be refilled, so that
+ * bursts beyond the bucket size are spread at the refill rate rather than rejected.
+ */
+final class TokenBucket {
+
+    private final double mTokensPerNano;
+    private final double mCapacity;
+
+    // Guarded by this. Negative while tokens are reserved ahead of their refill.
+    private double mTokens;
+    private long mRefilledAtNanos;
+
+    TokenBucket(double tokensPerSecond, int capacity) {
+        mTokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        mCapacity = capacity;
+        mTokens = capacity;
+        mRefilledAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token, or reserves the next one unless it would take longer than the given wait
+     * to be refilled.
+     *
+     * @return The time to wait before using the token, in nanoseconds, or {@code -1} if no
+     * token was taken.
+     */
+    synchronized long reserve(long maxWaitNanos) {
+        final long now = System.nanoTime();
+        mTokens = Math.min(mCapacity, mTokens + (now - mRefilledAtNanos) * mTokensPerNano);
+        mRefilledAtNanos = now;
+
+        if (mTokens >= 1) {
+            mTokens -= 1;
+            return 0;
+        }
+        final long waitNanos = (long) Math.ceil((1 - mTokens) / mTokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        mTokens -= 1;
+        return waitNanos;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.fake;
+
+import androidx.annotation.NonNull;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+
+/**
+ * Configures the fake provider contributed by the {@code places-fake} artifact.
+ * <p>
+ * When the artifact is included in a build, the clients created by {@link
+ * dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit PlaceKit} are served by the
+ * fake provider, in process, from a local dataset, with the latency, errors and throttling set
+ * by the current {@link FakePlacesConfig}. The configuration can be changed at any time, and
+ * applies to the calls made from then on.
+ *
+ * @since 1.1.0
+ */
+public final class FakePlaces {
+
+    private static volatile @NonNull FakePlacesConfig sConfig =
+            new FakePlacesConfig.Builder().build();
+
+    private FakePlaces() {}
+
+    public static void setConfig(@NonNull FakePlacesConfig config) {
+        sConfig = Preconditions.checkNotNull(config);
+    }
+
+    public static @NonNull FakePlacesConfig getConfig() {
+        return sConfig;
+    }
+
+}
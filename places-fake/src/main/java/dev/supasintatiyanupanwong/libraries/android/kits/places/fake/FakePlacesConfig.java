@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.fake;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.internal.Preconditions;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
+
+/**
+ * The behavior of the fake provider: the places it serves, how long it takes to answer, and
+ * how often it fails.
+ *
+ * @since 1.1.0
+ */
+public final class FakePlacesConfig {
+
+    private final @NonNull List<Place> mPlaces;
+    private final @NonNull LatencyDistribution mLatency;
+    private final double mErrorRate;
+    private final int mThrottlingMaxRequests;
+    private final long mThrottlingPeriodNanos;
+    private final @Nullable Long mSeed;
+
+    private FakePlacesConfig(@NonNull Builder builder) {
+        mPlaces = Collections.unmodifiableList(new ArrayList<>(builder.mPlaces));
+        mLatency = builder.mLatency;
+        mErrorRate = builder.mErrorRate;
+        mThrottlingMaxRequests = builder.mThrottlingMaxRequests;
+        mThrottlingPeriodNanos = builder.mThrottlingPeriodNanos;
+        mSeed = builder.mSeed;
+    }
+
+    /**
+     * Returns the places served by the fake provider.
+     */
+    public @NonNull List<Place> getPlaces() {
+        return mPlaces;
+    }
+
+    public @NonNull LatencyDistribution getLatency() {
+        return mLatency;
+    }
+
+    /**
+     * Returns the fraction of calls failing with a transient error, between 0 and 1.
+     */
+    public double getErrorRate() {
+        return mErrorRate;
+    }
+
+    /**
+     * Returns the maximum number of calls accepted per throttling period, or {@code 0} if calls
+     * are never throttled.
+     */
+    public int getThrottlingMaxRequests() {
+        return mThrottlingMaxRequests;
+    }
+
+    public long getThrottlingPeriod(@NonNull TimeUnit unit) {
+        return unit.convert(mThrottlingPeriodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the seed of the randomness of the fake provider, or {@code null} if it isn't
+     * seeded.
+     */
+    public @Nullable Long getSeed() {
+        return mSeed;
+    }
+
+
+    /**
+     * Builder for {@link FakePlacesConfig}.
+     */
+    public static class Builder {
+        /** A few well-known places, served when no places are set. */
+        private static final List<Place> DEFAULT_PLACES = Arrays.<Place>asList(
+                place("fake-eiffel-tower", "Eiffel Tower",
+                        "Champ de Mars, 5 Avenue Anatole France, Paris, France",
+                        48.858370, 2.294481),
+                place("fake-louvre", "Louvre Museum",
+                        "Rue de Rivoli, Paris, France",
+                        48.860611, 2.337644),
+                place("fake-big-ben", "Big Ben",
+                        "Westminster, London, United Kingdom",
+                        51.500729, -0.124625),
+                place("fake-colosseum", "Colosseum",
+                        "Piazza del Colosseo, Rome, Italy",
+                        41.890210, 12.492231),
+                place("fake-statue-of-liberty", "Statue of Liberty",
+                        "Liberty Island, New York, United States",
+                        40.689247, -74.044502),
+                place("fake-central-park", "Central Park",
+                        "New York, United States",
+                        40.782865, -73.965355),
+                place("fake-sydney-opera-house", "Sydney Opera House",
+                        "Bennelong Point, Sydney, New South Wales, Australia",
+                        -33.856784, 151.215297),
+                place("fake-tokyo-tower", "Tokyo Tower",
+                        "4 Chome-2-8 Shibakoen, Minato City, Tokyo, Japan",
+                        35.658581, 139.745438),
+                place("fake-grand-palace", "Grand Palace",
+                        "Na Phra Lan Road, Phra Nakhon, Bangkok, Thailand",
+                        13.750030, 100.491289),
+                place("fake-wat-arun", "Wat Arun",
+                        "Wang Doem Road, Bangkok Yai, Bangkok, Thailand",
+                        13.743660, 100.488875));
+
+        @NonNull List<Place> mPlaces = DEFAULT_PLACES;
+        @NonNull LatencyDistribution mLatency = LatencyDistribution.fixed(0, TimeUnit.NANOSECONDS);
+        double mErrorRate;
+        int mThrottlingMaxRequests;
+        long mThrottlingPeriodNanos;
+        @Nullable Long mSeed;
+
+        /**
+         * Sets the places served by the fake provider. Places without an ID or a name are never
+         * returned. Defaults to a few well-known places.
+         */
+        public @NonNull Builder setPlaces(@NonNull List<? extends Place> places) {
+            mPlaces = new ArrayList<>(Preconditions.checkNotNull(places));
+            return this;
+        }
+
+        /**
+         * Sets the distribution the latency of each call is drawn from. Defaults to no latency.
+         */
+        public @NonNull Builder setLatency(@NonNull LatencyDistribution latency) {
+            mLatency = Preconditions.checkNotNull(latency);
+            return this;
+        }
+
+        /**
+         * Sets the fraction of calls failing with a transient error, between 0 and 1. Defaults
+         * to 0.
+         */
+        public @NonNull Builder setErrorRate(double errorRate) {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("errorRate must be in [0, 1]: " + errorRate);
+            }
+            mErrorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Throttles the calls to the fake provider, failing the ones exceeding the given number
+         * of calls within any window of the given period. Calls are not throttled by default.
+         */
+        public @NonNull Builder setThrottling(
+                int maxRequests, long period, @NonNull TimeUnit unit) {
+            if (maxRequests <= 0) {
+                throw new IllegalArgumentException(
+                        "maxRequests must be positive: " + maxRequests);
+            }
+            if (period <= 0) {
+                throw new IllegalArgumentException("period must be positive: " + period);
+            }
+            mThrottlingMaxRequests = maxRequests;
+            mThrottlingPeriodNanos = unit.toNanos(period);
+            return this;
+        }
+
+        /**
+         * Seeds the randomness of latencies and errors, so that a sequence of calls behaves the
+         * same on every run.
+         */
+        public @NonNull Builder setSeed(long seed) {
+            mSeed = seed;
+            return this;
+        }
+
+        public @NonNull FakePlacesConfig build() {
+            return new FakePlacesConfig(this);
+        }
+
+
+        private static @NonNull Place place(@NonNull String id, @NonNull String name,
+                @NonNull String address, double latitude, double longitude) {
+            return new PlaceSnapshot.Builder()
+                    .setId(id)
+                    .setName(name)
+                    .setAddress(address)
+                    .setLatLng(latitude, longitude)
+                    .build();
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.fake;
+
+import androidx.annotation.NonNull;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The distribution the latency of the fake provider is drawn from for each call.
+ *
+ * @since 1.1.0
+ */
+public abstract class LatencyDistribution {
+
+    /**
+     * Returns the latency of the next call.
+     *
+     * @param random The source of randomness of the fake provider, seeded by {@link
+     * FakePlacesConfig.Builder#setSeed(long)}.
+     * @return The latency, in nanoseconds.
+     */
+    public abstract long nextLatencyNanos(@NonNull Random random);
+
+
+    /**
+     * Returns a distribution always giving the same latency.
+     */
+    public static @NonNull LatencyDistribution fixed(long latency, @NonNull TimeUnit unit) {
+        checkNotNegative(latency);
+        final long latencyNanos = unit.toNanos(latency);
+        return new LatencyDistribution() {
+            @Override
+            public long nextLatencyNanos(@NonNull Random random) {
+                return latencyNanos;
+            }
+        };
+    }
+
+    /**
+     * Returns a distribution giving latencies uniformly between the given bounds.
+     */
+    public static @NonNull LatencyDistribution uniform(
+            long min, long max, @NonNull TimeUnit unit) {
+        checkNotNegative(min);
+        if (max < min) {
+            throw new IllegalArgumentException("max must not be less than min: " + max);
+        }
+        final long minNanos = unit.toNanos(min);
+        final long rangeNanos = unit.toNanos(max) - minNanos;
+        return new LatencyDistribution() {
+            @Override
+            public long nextLatencyNanos(@NonNull Random random) {
+                return minNanos + (long) (random.nextDouble() * rangeNanos);
+            }
+        };
+    }
+
+    /**
+     * Returns a log-normal distribution with the given median and 99th percentile, the long
+     * tailed shape network latencies usually have.
+     */
+    public static @NonNull LatencyDistribution logNormal(
+            long median, long p99, @NonNull TimeUnit unit) {
+        if (median <= 0) {
+            throw new IllegalArgumentException("median must be positive: " + median);
+        }
+        if (p99 < median) {
+            throw new IllegalArgumentException("p99 must not be less than median: " + p99);
+        }
+        final double medianNanos = unit.toNanos(median);
+        // 2.326 is the 99th percentile of the standard normal distribution.
+        final double sigma = Math.log((double) p99 / median) / 2.326;
+        return new LatencyDistribution() {
+            @Override
+            public long nextLatencyNanos(@NonNull Random random) {
+                return (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+    }
+
+
+    private static void checkNotNegative(long latency) {
+        if (latency < 0) {
+            throw new IllegalArgumentException("latency must not be negative: " + latency);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.fake;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.PlacesFactory;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.fake.net.FakePlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+
+@RestrictTo(LIBRARY)
+public final class FakePlacesFactory implements PlacesFactory {
+
+    private final @NonNull FakePlacesClient mClient = new FakePlacesClient();
+
+    private FakePlacesFactory() {}
+
+    /**
+     * Returns a view of the fake client of the application, which is shared by every client
+     * created by this factory so that throttling applies across all of them. Its responses are
+     * built on its own thread, so only the default timeout of the settings applies.
+     */
+    @Override
+    public @NonNull PlacesClient createClient(
+            @NonNull Context context, @NonNull PlacesClientSettings settings) {
+        return mClient.withSettings(settings);
+    }
+
+    @Override
+    public @NonNull String getProviderName() {
+        return "fake";
+    }
+
+
+    @SuppressWarnings("unused") // Discovered through ServiceLoader.
+    public static final class Provider implements PlacesFactory.Provider {
+        // Above every real provider, the fake one is only included in builds meant to use it.
+        private static final int PRIORITY = 1000;
+
+        @Override
+        public int getPriority() {
+            return PRIORITY;
+        }
+
+        @Override
+        public @Nullable PlacesFactory buildIfSupported(@NonNull Context context) {
+            return new FakePlacesFactory();
+        }
+    }
+
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.fake.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.fake.FakePlaces;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.fake.FakePlacesConfig;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesException;
+import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+
+/**
+ * A {@link PlacesClient} serving the places of the current {@link FakePlacesConfig}, answering
+ * each call after a latency drawn from its distribution, on a background thread.
+ */
+@RestrictTo(LIBRARY)
+public final class FakePlacesClient implements PlacesClient {
+
+    private static final int MAX_PREDICTIONS = 5;
+
+    private final @NonNull ScheduledExecutorService mExecutor =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public @NonNull Thread newThread(@NonNull Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "PlaceKit-fake");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    // Guarded by this, reset whenever the configuration changes.
+    private @Nullable FakePlacesConfig mConfig;
+    private @NonNull Random mRandom = new Random();
+    private final @NonNull ArrayDeque<Long> mRecentCalls = new ArrayDeque<>();
+
+    @Override
+    public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            @NonNull FindAutocompletePredictionsRequest request) {
+        return findAutocompletePredictions(request, request.getTimeoutMillis());
+    }
+
+    @Override
+    public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        return fetchPlace(request, request.getTimeoutMillis());
+    }
+
+    /**
+     * Returns a client sharing the state of this one, timing the requests out according to the
+     * given settings.
+     */
+    public @NonNull PlacesClient withSettings(final @NonNull PlacesClientSettings settings) {
+        return new PlacesClient() {
+            @Override
+            public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+                    @NonNull FindAutocompletePredictionsRequest request) {
+                return FakePlacesClient.this.findAutocompletePredictions(
+                        request, settings.getTimeoutMillis(request));
+            }
+
+            @Override
+            public @NonNull Task<FetchPlaceResponse> fetchPlace(
+                    @NonNull FetchPlaceRequest request) {
+                return FakePlacesClient.this.fetchPlace(
+                        request, settings.getTimeoutMillis(request));
+            }
+        };
+    }
+
+
+    private @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
+            final @NonNull FindAutocompletePredictionsRequest request, long timeoutMillis) {
+        final CompletableTask<FindAutocompletePredictionsResponse> task =
+                new CompletableTask<FindAutocompletePredictionsResponse>()
+                        .cancelOn(request.getCancellationToken())
+                        .failAfter(timeoutMillis);
+        if (task.isComplete()) {
+            return task;
+        }
+        final Call call = newCall();
+        mExecutor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (task.isComplete()) {
+                    return;
+                }
+                if (call.mException != null) {
+                    task.trySetException(call.mException);
+                } else {
+                    task.trySetResult(new FakeFindAutocompletePredictionsResponse(
+                            find(call.mConfig.getPlaces(), request.getQuery())));
+                }
+            }
+        }, call.mLatencyNanos, TimeUnit.NANOSECONDS);
+        return task;
+    }
+
+    private @NonNull Task<FetchPlaceResponse> fetchPlace(
+            final @NonNull FetchPlaceRequest request, long timeoutMillis) {
+        final CompletableTask<FetchPlaceResponse> task = new CompletableTask<FetchPlaceResponse>()
+                .cancelOn(request.getCancellationToken())
+                .failAfter(timeoutMillis);
+        if (task.isComplete()) {
+            return task;
+        }
+        final Call call = newCall();
+        mExecutor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (task.isComplete()) {
+                    return;
+                }
+                if (call.mException != null) {
+                    task.trySetException(call.mException);
+                    return;
+                }
+
+                final Place place = get(call.mConfig.getPlaces(), request.getPlaceId());
+                if (place == null) {
+                    task.trySetException(new PlacesException(PlacesException.Kind.PERMANENT,
+                            "NOT_FOUND: " + request.getPlaceId()));
+                } else {
+                    final List<Place.Field> placeFields = request.getPlaceFields();
+                    task.trySetResult(new FakeFetchPlaceResponse(placeFields != null
+                            ? PlaceSnapshot.of(place, placeFields)
+                            : PlaceSnapshot.of(place)));
+                }
+            }
+        }, call.mLatencyNanos, TimeUnit.NANOSECONDS);
+        return task;
+    }
+
+    /**
+     * Decides the latency and the outcome of a new call according to the current
+     * configuration.
+     */
+    private synchronized @NonNull Call newCall() {
+        final FakePlacesConfig config = FakePlaces.getConfig();
+        if (config != mConfig) {
+            mConfig = config;
+            mRandom = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+            mRecentCalls.clear();
+        }
+
+        final long latencyNanos = Math.max(0, config.getLatency().nextLatencyNanos(mRandom));
+        final boolean failed = mRandom.nextDouble() < config.getErrorRate();
+
+        PlacesException exception = null;
+        if (isThrottled(config)) {
+            exception = new PlacesException(PlacesException.Kind.THROTTLED, "OVER_QUERY_LIMIT");
+        } else if (failed) {
+            exception = new PlacesException(PlacesException.Kind.TRANSIENT, "UNAVAILABLE");
+        }
+        return new Call(config, latencyNanos, exception);
+    }
+
+    private boolean isThrottled(@NonNull FakePlacesConfig config) {
+        final int maxRequests = config.getThrottlingMaxRequests();
+        if (maxRequests == 0) {
+            return false;
+        }
+
+        final long now = System.nanoTime();
+        final long windowStart = now - config.getThrottlingPeriod(TimeUnit.NANOSECONDS);
+        while (!mRecentCalls.isEmpty() && mRecentCalls.peekFirst() - windowStart <= 0) {
+            mRecentCalls.pollFirst();
+        }
+        if (mRecentCalls.size() >= maxRequests) {
+            return true;
+        }
+        mRecentCalls.addLast(now);
+        return false;
+    }
+
+    private static @Nullable Place get(@NonNull List<Place> places, @NonNull String placeId) {
+        for (int iter = 0, size = places.size(); iter < size; iter++) {
+            final Place place = places.get(iter);
+            if (placeId.equals(place.getId()) && place.getName() != null) {
+                return place;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the places of which every term of the query starts a word of the name or address,
+     * in dataset order.
+     */
+    private static @NonNull List<AutocompletePrediction> find(
+            @NonNull List<Place> places, @Nullable String query) {
+        final String normalized = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String[] terms = normalized.split("\\s+");
+
+        final List<AutocompletePrediction> predictions = new ArrayList<>();
+        for (int iter = 0, size = places.size();
+                iter < size && predictions.size() < MAX_PREDICTIONS; iter++) {
+            final Place place = places.get(iter);
+            if (place.getId() == null || place.getName() == null) {
+                continue;
+            }
+
+            final String address = place.getAddress() != null ? place.getAddress() : "";
+            final String[] words = (place.getName() + " " + address)
+                    .toLowerCase(Locale.ROOT)
+                    .split("[\\s,]+");
+            if (matches(terms, words)) {
+                predictions.add(
+                        new FakeAutocompletePrediction(place.getId(), place.getName(), address));
+            }
+        }
+        return predictions;
+    }
+
+    private static boolean matches(@NonNull String[] terms, @NonNull String[] words) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static final class Call {
+        final @NonNull FakePlacesConfig mConfig;
+        final long mLatencyNanos;
+        final @Nullable PlacesException mException;
+
+        Call(@NonNull FakePlacesConfig config, long latencyNanos,
+                @Nullable PlacesException exception) {
+            mConfig = config;
+            mLatencyNanos = latencyNanos;
+            mException = exception;
+        }
+    }
+
+    private static final class FakeAutocompletePrediction implements AutocompletePrediction {
+        private final @NonNull String mPlaceId;
+        private final @NonNull String mPrimaryText;
+        private final @NonNull String mSecondaryText;
+
+        FakeAutocompletePrediction(
+                @NonNull String placeId, @NonNull String primaryText,
+                @NonNull String secondaryText) {
+            mPlaceId = placeId;
+            mPrimaryText = primaryText;
+            mSecondaryText = secondaryText;
+        }
+
+        @Override
+        public @NonNull String getPlaceId() {
+            return mPlaceId;
+        }
+
+        @Override
+        public @NonNull String getPrimaryText() {
+            return mPrimaryText;
+        }
+
+        @Override
+        public @NonNull String getSecondaryText() {
+            return mSecondaryText;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            FakeAutocompletePrediction that = (FakeAutocompletePrediction) obj;
+
+            return mPlaceId.equals(that.mPlaceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return mPlaceId.hashCode();
+        }
+
+        @Override
+        public @NonNull String toString() {
+            return "FakeAutocompletePrediction{"
+                    + "placeId=" + mPlaceId
+                    + ", primaryText=" + mPrimaryText
+                    + ", secondaryText=" + mSecondaryText
+                    + "}";
+        }
+    }
+
+    private static final class FakeFindAutocompletePredictionsResponse
+            implements FindAutocompletePredictionsResponse {
+        private final @NonNull List<AutocompletePrediction> mAutocompletePredictions;
+
+        FakeFindAutocompletePredictionsResponse(
+                @NonNull List<AutocompletePrediction> autocompletePredictions) {
+            mAutocompletePredictions = Collections.unmodifiableList(autocompletePredictions);
+        }
+
+        @Override
+        public @NonNull List<AutocompletePrediction> getAutocompletePredictions() {
+            return mAutocompletePredictions;
+        }
+    }
+
+    private static final class FakeFetchPlaceResponse implements FetchPlaceResponse {
+        private final @NonNull Place mPlace;
+
+        FakeFetchPlaceResponse(@NonNull Place place) {
+            mPlace = place;
+        }
+
+        @Override
+        public @NonNull Place getPlace() {
+            return mPlace;
+        }
+    }
+
+}
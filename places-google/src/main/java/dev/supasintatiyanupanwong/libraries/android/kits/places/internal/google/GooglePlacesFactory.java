@@ -18,6 +18,7 @@ package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google
 
 import android.content.Context;
 import android.content.pm.PackageManager;
+import android.os.Bundle;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
@@ -34,49 +35,90 @@ import java.util.List;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.PlacesFactory;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net.GooglePlacesClient;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 
 @RestrictTo(LIBRARY)
-@SuppressWarnings("unused")
 public final class GooglePlacesFactory implements PlacesFactory {
 
-    private GooglePlacesFactory() {}
+    private final @NonNull Context mContext;
 
+    private com.google.android.libraries.places.api.net.PlacesClient mSharedClient;
+
+    private GooglePlacesFactory(@NonNull Context context) {
+        mContext = context.getApplicationContext() != null
+                ? context.getApplicationContext()
+                : context;
+    }
+
+    /**
+     * Returns a handle to the Places SDK client of the application, which is shared by every
+     * client created by this factory.
+     */
     @Override
-    public @NonNull PlacesClient createClient(@NonNull Context context) {
-        return new GooglePlacesClient(context);
+    public @NonNull PlacesClient createClient(
+            @NonNull Context context, @NonNull PlacesClientSettings settings) {
+        return new GooglePlacesClient(getSharedClient(), settings);
     }
 
+    @Override
+    public @NonNull String getProviderName() {
+        return "google";
+    }
 
-    public static @Nullable PlacesFactory buildIfSupported(@NonNull Context context) {
-        final List<Integer> unavailableResults = Arrays.asList(
-                ConnectionResult.SERVICE_DISABLED,
-                ConnectionResult.SERVICE_MISSING,
-                ConnectionResult.SERVICE_INVALID);
-        final int result =
-                GoogleApiAvailability.getInstance().isGooglePlayServicesAvailable(context);
-        if (unavailableResults.contains(result)) {
-            return null;
-        }
 
-        String apiKey;
-        try {
-            apiKey = context.getPackageManager()
-                    .getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA)
-                    .metaData
-                    .getString("com.google.android.geo.API_KEY");
-        } catch (PackageManager.NameNotFoundException e) {
-            apiKey = null;
+    private synchronized @NonNull com.google.android.libraries.places.api.net.PlacesClient
+            getSharedClient() {
+        if (mSharedClient == null) {
+            mSharedClient = Places.createClient(mContext);
         }
+        return mSharedClient;
+    }
 
-        if (TextUtils.isEmpty(apiKey)) {
-            throw new NullPointerException("API key is not declared in AndroidManifest.xml");
-        }
 
-        Places.initialize(context, apiKey);
+    @SuppressWarnings("unused") // Discovered through ServiceLoader.
+    public static final class Provider implements PlacesFactory.Provider {
+        private static final int PRIORITY = 200;
 
-        return new GooglePlacesFactory();
+        @Override
+        public int getPriority() {
+            return PRIORITY;
+        }
+
+        @Override
+        public @Nullable PlacesFactory buildIfSupported(@NonNull Context context) {
+            final List<Integer> unavailableResults = Arrays.asList(
+                    ConnectionResult.SERVICE_DISABLED,
+                    ConnectionResult.SERVICE_MISSING,
+                    ConnectionResult.SERVICE_INVALID);
+            final int result =
+                    GoogleApiAvailability.getInstance().isGooglePlayServicesAvailable(context);
+            if (unavailableResults.contains(result)) {
+                return null;
+            }
+
+            String apiKey;
+            try {
+                final Bundle metaData = context.getPackageManager()
+                        .getApplicationInfo(
+                                context.getPackageName(), PackageManager.GET_META_DATA)
+                        .metaData;
+                apiKey = metaData != null
+                        ? metaData.getString("com.google.android.geo.API_KEY")
+                        : null;
+            } catch (PackageManager.NameNotFoundException e) {
+                apiKey = null;
+            }
+
+            if (TextUtils.isEmpty(apiKey)) {
+                throw new NullPointerException("API key is not declared in AndroidManifest.xml");
+            }
+
+            Places.initialize(context, apiKey);
+
+            return new GooglePlacesFactory(context);
+        }
     }
 
 }
@@ -20,9 +20,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.LazyWrappingList;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
@@ -30,6 +30,20 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 @RestrictTo(LIBRARY)
 public class GoogleAutocompletePrediction implements AutocompletePrediction {
 
+    private static final LazyWrappingList.Wrapper<
+            com.google.android.libraries.places.api.model.AutocompletePrediction,
+            AutocompletePrediction> WRAPPER =
+            new LazyWrappingList.Wrapper<
+                    com.google.android.libraries.places.api.model.AutocompletePrediction,
+                    AutocompletePrediction>() {
+                @Override
+                public @NonNull AutocompletePrediction wrap(
+                        @NonNull com.google.android.libraries.places.api.model
+                                .AutocompletePrediction delegate) {
+                    return new GoogleAutocompletePrediction(delegate);
+                }
+            };
+
     private final @NonNull com.google.android.libraries.places.api.model.AutocompletePrediction
             mDelegate;
 
@@ -88,11 +102,7 @@ public class GoogleAutocompletePrediction implements AutocompletePrediction {
     public static @NonNull List<AutocompletePrediction> wrap(
             @NonNull List<com.google.android.libraries.places.api.model.AutocompletePrediction>
                     delegates) {
-        List<AutocompletePrediction> list = new ArrayList<>();
-        for (int iter = 0, size = delegates.size(); iter < size; iter++) {
-            list.add(GoogleAutocompletePrediction.wrap(delegates.get(iter)));
-        }
-        return list;
+        return new LazyWrappingList<>(delegates, WRAPPER);
     }
 
 }
@@ -17,8 +17,11 @@
 package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
+import com.google.android.gms.tasks.CancellationToken;
+
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.model.GooglePlace;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
 
@@ -31,11 +34,13 @@ public final class GoogleFetchPlaceRequest {
 
 
     public static @NonNull com.google.android.libraries.places.api.net.FetchPlaceRequest unwrap(
-            @NonNull FetchPlaceRequest wrapped) {
+            @NonNull FetchPlaceRequest wrapped, @Nullable CancellationToken cancellationToken) {
         return com.google.android.libraries.places.api.net.FetchPlaceRequest
-                .newInstance(
+                .builder(
                         wrapped.getPlaceId(),
-                        GooglePlace.Field.unwrap(wrapped.getPlaceFields()));
+                        GooglePlace.Field.unwrap(wrapped.getPlaceFields()))
+                .setCancellationToken(cancellationToken)
+                .build();
     }
 
 }
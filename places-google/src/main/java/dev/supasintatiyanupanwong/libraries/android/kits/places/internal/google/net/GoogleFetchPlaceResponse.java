@@ -21,6 +21,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.model.GooglePlace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceResponse;
 
@@ -31,18 +32,23 @@ public class GoogleFetchPlaceResponse implements FetchPlaceResponse {
 
     private final @NonNull com.google.android.libraries.places.api.net.FetchPlaceResponse mDelegate;
 
-    private @Nullable Place mPlace;
+    private final @NonNull Place mPlace;
 
     private GoogleFetchPlaceResponse(
             @NonNull com.google.android.libraries.places.api.net.FetchPlaceResponse delegate) {
         this.mDelegate = delegate;
+
+        // Wrapped here, on the mapping executor, rather than on the reading thread.
+        final boolean traced = PlacesTrace.beginSection(PlacesTrace.WRAP_RESPONSE);
+        try {
+            mPlace = GooglePlace.wrap(delegate.getPlace());
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
     }
 
     @Override
     public @NonNull Place getPlace() {
-        if (mPlace == null) {
-            mPlace = GooglePlace.wrap(mDelegate.getPlace());
-        }
         return mPlace;
     }
 
@@ -17,8 +17,11 @@
 package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
+import com.google.android.gms.tasks.CancellationToken;
+
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.model.GoogleTypeFilter;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
 
@@ -32,12 +35,14 @@ public final class GoogleFindAutocompletePredictionsRequest {
 
     public static @NonNull com.google.android.libraries.places.api.net
             .FindAutocompletePredictionsRequest unwrap(
-                    @NonNull FindAutocompletePredictionsRequest wrapped) {
+                    @NonNull FindAutocompletePredictionsRequest wrapped,
+                    @Nullable CancellationToken cancellationToken) {
         return com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest
                 .builder()
                 .setQuery(wrapped.getQuery())
                 .setCountry(wrapped.getCountry())
                 .setTypeFilter(GoogleTypeFilter.wrap(wrapped.getTypeFilter()))
+                .setCancellationToken(cancellationToken)
                 .build();
     }
 
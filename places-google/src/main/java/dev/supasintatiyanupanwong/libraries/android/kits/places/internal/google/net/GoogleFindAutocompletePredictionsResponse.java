@@ -20,10 +20,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
-import java.util.Collections;
 import java.util.List;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.model.GoogleAutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
 
@@ -36,20 +36,26 @@ public class GoogleFindAutocompletePredictionsResponse implements
     private final @NonNull com.google.android.libraries.places.api.net
             .FindAutocompletePredictionsResponse mDelegate;
 
-    private @Nullable List<AutocompletePrediction> mAutocompletePredictions;
+    private final @NonNull List<AutocompletePrediction> mAutocompletePredictions;
 
     private GoogleFindAutocompletePredictionsResponse(
             @NonNull com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse
                     delegate) {
         mDelegate = delegate;
+
+        // Only the lazy view is created here, on the mapping executor. Each prediction is
+        // wrapped on first read, so the ones never shown are never wrapped.
+        final boolean traced = PlacesTrace.beginSection(PlacesTrace.WRAP_RESPONSE);
+        try {
+            mAutocompletePredictions =
+                    GoogleAutocompletePrediction.wrap(delegate.getAutocompletePredictions());
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
     }
 
     @Override
     public @NonNull List<AutocompletePrediction> getAutocompletePredictions() {
-        if (mAutocompletePredictions == null) {
-            mAutocompletePredictions = Collections.unmodifiableList(
-                    GoogleAutocompletePrediction.wrap(mDelegate.getAutocompletePredictions()));
-        }
         return mAutocompletePredictions;
     }
 
@@ -16,20 +16,30 @@
 
 package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net;
 
-import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
-import com.google.android.libraries.places.api.Places;
+import com.google.android.gms.tasks.CancellationTokenSource;
+import com.google.android.gms.tasks.SuccessContinuation;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.internal.google.tasks.GoogleTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.CancellationToken;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceResponse;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesException;
 import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
 import dev.supasintatiyanupanwong.libraries.android.kits.tasks.internal.ResultInterceptor;
 
@@ -39,46 +49,230 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 public final class GooglePlacesClient implements PlacesClient {
 
     private final com.google.android.libraries.places.api.net.PlacesClient mDelegate;
+    private final @NonNull PlacesClientSettings mSettings;
 
-    public GooglePlacesClient(Context context) {
-        mDelegate = Places.createClient(context);
+    private final @NonNull Handler mHandler = new Handler(Looper.getMainLooper());
+
+    public GooglePlacesClient(
+            @NonNull com.google.android.libraries.places.api.net.PlacesClient delegate,
+            @NonNull PlacesClientSettings settings) {
+        mDelegate = delegate;
+        mSettings = settings;
     }
 
     @Override
     public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
             @NonNull FindAutocompletePredictionsRequest request) {
+        final CancellationToken cancellationToken = request.getCancellationToken();
+        if (cancellationToken != null && cancellationToken.isCancellationRequested()) {
+            return CompletableTask.forCanceled();
+        }
+        final long timeoutMillis = mSettings.getTimeoutMillis(request);
+        final CancellationTokenSource cancellationSource =
+                cancellationToken != null || timeoutMillis > 0
+                        ? new CancellationTokenSource()
+                        : null;
+
+        final com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest
+                unwrapped;
+        boolean traced = PlacesTrace.beginSection(PlacesTrace.UNWRAP_REQUEST);
+        try {
+            unwrapped = GoogleFindAutocompletePredictionsRequest.unwrap(request,
+                    cancellationSource != null ? cancellationSource.getToken() : null);
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+
+        final com.google.android.gms.tasks.Task<
+                com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse>
+                task;
+        final int cookie = PlacesTrace.beginAsyncSection(PlacesTrace.FIND_AUTOCOMPLETE_PREDICTIONS);
+        traced = PlacesTrace.beginSection(PlacesTrace.CALL_SDK);
+        try {
+            task = mDelegate.findAutocompletePredictions(unwrapped);
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+        endAsyncSectionOnComplete(task, PlacesTrace.FIND_AUTOCOMPLETE_PREDICTIONS, cookie);
+        forwardCancellation(task, cancellationToken, cancellationSource);
+
         return new GoogleTask<>(
-                mDelegate.findAutocompletePredictions(
-                        GoogleFindAutocompletePredictionsRequest.unwrap(request)),
-                new ResultInterceptor<
-                        com.google.android.libraries.places.api.net
-                                .FindAutocompletePredictionsResponse,
-                        FindAutocompletePredictionsResponse>() {
-                    @Override
-                    public @Nullable FindAutocompletePredictionsResponse intercept(
-                            @Nullable com.google.android.libraries.places.api.net
-                                    .FindAutocompletePredictionsResponse response) {
-                        return GoogleFindAutocompletePredictionsResponse.wrap(response);
-                    }
-                }
+                GooglePlacesExceptions.wrapFailure(
+                        withTimeout(task, timeoutMillis, cancellationSource)).onSuccessTask(
+                        mSettings.getMappingExecutor(),
+                        new SuccessContinuation<
+                                com.google.android.libraries.places.api.net
+                                        .FindAutocompletePredictionsResponse,
+                                FindAutocompletePredictionsResponse>() {
+                            @Override
+                            public @NonNull com.google.android.gms.tasks.Task<
+                                    FindAutocompletePredictionsResponse> then(
+                                    @Nullable com.google.android.libraries.places.api.net
+                                            .FindAutocompletePredictionsResponse response) {
+                                return Tasks.forResult(
+                                        GoogleFindAutocompletePredictionsResponse.wrap(response));
+                            }
+                        }),
+                GooglePlacesClient.<FindAutocompletePredictionsResponse>mapped()
         );
     }
 
     @Override
     public @NonNull Task<FetchPlaceResponse> fetchPlace(@NonNull FetchPlaceRequest request) {
+        final CancellationToken cancellationToken = request.getCancellationToken();
+        if (cancellationToken != null && cancellationToken.isCancellationRequested()) {
+            return CompletableTask.forCanceled();
+        }
+        final long timeoutMillis = mSettings.getTimeoutMillis(request);
+        final CancellationTokenSource cancellationSource =
+                cancellationToken != null || timeoutMillis > 0
+                        ? new CancellationTokenSource()
+                        : null;
+
+        final com.google.android.libraries.places.api.net.FetchPlaceRequest unwrapped;
+        boolean traced = PlacesTrace.beginSection(PlacesTrace.UNWRAP_REQUEST);
+        try {
+            unwrapped = GoogleFetchPlaceRequest.unwrap(request,
+                    cancellationSource != null ? cancellationSource.getToken() : null);
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+
+        final com.google.android.gms.tasks.Task<
+                com.google.android.libraries.places.api.net.FetchPlaceResponse> task;
+        final int cookie = PlacesTrace.beginAsyncSection(PlacesTrace.FETCH_PLACE);
+        traced = PlacesTrace.beginSection(PlacesTrace.CALL_SDK);
+        try {
+            task = mDelegate.fetchPlace(unwrapped);
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+        endAsyncSectionOnComplete(task, PlacesTrace.FETCH_PLACE, cookie);
+        forwardCancellation(task, cancellationToken, cancellationSource);
+
         return new GoogleTask<>(
-                mDelegate.fetchPlace(GoogleFetchPlaceRequest.unwrap(request)),
-                new ResultInterceptor<
-                        com.google.android.libraries.places.api.net.FetchPlaceResponse,
-                        FetchPlaceResponse>() {
+                GooglePlacesExceptions.wrapFailure(
+                        withTimeout(task, timeoutMillis, cancellationSource)).onSuccessTask(
+                        mSettings.getMappingExecutor(),
+                        new SuccessContinuation<
+                                com.google.android.libraries.places.api.net.FetchPlaceResponse,
+                                FetchPlaceResponse>() {
+                            @Override
+                            public @NonNull com.google.android.gms.tasks.Task<FetchPlaceResponse>
+                                    then(@Nullable com.google.android.libraries.places.api.net
+                                            .FetchPlaceResponse response) {
+                                return Tasks.forResult(GoogleFetchPlaceResponse.wrap(response));
+                            }
+                        }),
+                GooglePlacesClient.<FetchPlaceResponse>mapped()
+        );
+    }
+
+
+    /**
+     * Returns the interceptor of a task whose result was already mapped on the mapping executor,
+     * so that only the dispatch to the listeners happens on their executor.
+     */
+    @SuppressWarnings("unchecked")
+    private static @NonNull <T> ResultInterceptor<T, T> mapped() {
+        return (ResultInterceptor<T, T>) MappedResultInterceptor.INSTANCE;
+    }
+
+    /**
+     * Returns a task completing as the SDK call, unless the timeout elapses first, which fails
+     * the task with a {@link PlacesException.Kind#TIMEOUT TIMEOUT} error and cancels the call.
+     * A late response is then dropped before it reaches the mapping continuation.
+     */
+    private @NonNull <T> com.google.android.gms.tasks.Task<T> withTimeout(
+            @NonNull com.google.android.gms.tasks.Task<T> task,
+            final long timeoutMillis,
+            final @Nullable CancellationTokenSource cancellationSource) {
+        if (timeoutMillis <= 0 || cancellationSource == null) {
+            return task;
+        }
+
+        // Canceling the request cancels this task right away, through the same token.
+        final TaskCompletionSource<T> deadline =
+                new TaskCompletionSource<>(cancellationSource.getToken());
+        final Runnable timeout = new Runnable() {
+            @Override
+            public void run() {
+                if (deadline.trySetException(new PlacesException(PlacesException.Kind.TIMEOUT,
+                        "Timed out after " + timeoutMillis + " ms"))) {
+                    cancellationSource.cancel();
+                }
+            }
+        };
+        mHandler.postDelayed(timeout, timeoutMillis);
+        task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new com.google.android.gms.tasks.OnCompleteListener<T>() {
                     @Override
-                    public @Nullable FetchPlaceResponse intercept(
-                            @Nullable com.google.android.libraries.places.api.net
-                                    .FetchPlaceResponse response) {
-                        return GoogleFetchPlaceResponse.wrap(response);
+                    public void onComplete(@NonNull com.google.android.gms.tasks.Task<T> task) {
+                        mHandler.removeCallbacks(timeout);
+                        final Exception exception = task.getException();
+                        if (task.isCanceled()) {
+                            cancellationSource.cancel();
+                        } else if (exception != null) {
+                            deadline.trySetException(exception);
+                        } else {
+                            deadline.trySetResult(task.getResult());
+                        }
                     }
-                }
-        );
+                });
+        return deadline.getTask();
+    }
+
+    /**
+     * Cancels the SDK call through its own token once the token of the request is canceled,
+     * until the call completes.
+     */
+    private static <T> void forwardCancellation(
+            @NonNull com.google.android.gms.tasks.Task<T> task,
+            final @Nullable CancellationToken cancellationToken,
+            final @Nullable CancellationTokenSource cancellationSource) {
+        if (cancellationToken == null || cancellationSource == null) {
+            return;
+        }
+        final CancellationToken.Listener listener = new CancellationToken.Listener() {
+            @Override
+            public void onCanceled() {
+                cancellationSource.cancel();
+            }
+        };
+        cancellationToken.addListener(listener);
+        task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new com.google.android.gms.tasks.OnCompleteListener<T>() {
+                    @Override
+                    public void onComplete(@NonNull com.google.android.gms.tasks.Task<T> task) {
+                        cancellationToken.removeListener(listener);
+                    }
+                });
+    }
+
+    private static <T> void endAsyncSectionOnComplete(
+            @NonNull com.google.android.gms.tasks.Task<T> task,
+            final @NonNull String name,
+            final int cookie) {
+        if (cookie == 0) {
+            return;
+        }
+        task.addOnCompleteListener(DirectExecutor.INSTANCE,
+                new com.google.android.gms.tasks.OnCompleteListener<T>() {
+                    @Override
+                    public void onComplete(@NonNull com.google.android.gms.tasks.Task<T> task) {
+                        PlacesTrace.endAsyncSection(name, cookie);
+                    }
+                });
+    }
+
+
+    private enum MappedResultInterceptor implements ResultInterceptor<Object, Object> {
+        INSTANCE;
+
+        @Override
+        public @Nullable Object intercept(@Nullable Object result) {
+            return result;
+        }
     }
 
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.google.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import com.google.android.gms.common.api.ApiException;
+import com.google.android.gms.common.api.CommonStatusCodes;
+import com.google.android.gms.tasks.Continuation;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.android.libraries.places.api.net.PlacesStatusCodes;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.DirectExecutor;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesException;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+
+/**
+ * Maps the exceptions of the Places SDK to {@link PlacesException}s.
+ */
+@RestrictTo(LIBRARY)
+public final class GooglePlacesExceptions {
+
+    private GooglePlacesExceptions() {}
+
+    /**
+     * Returns a task failing with the {@link PlacesException} matching the failure of the given
+     * task, or completing as the given task otherwise.
+     */
+    public static @NonNull <T> Task<T> wrapFailure(@NonNull Task<T> task) {
+        return task.continueWithTask(DirectExecutor.INSTANCE, new Continuation<T, Task<T>>() {
+            @Override
+            public @NonNull Task<T> then(@NonNull Task<T> task) {
+                final Exception exception = task.getException();
+                if (task.isCanceled() || exception == null) {
+                    return task;
+                }
+                return Tasks.forException(wrap(exception));
+            }
+        });
+    }
+
+    public static @NonNull PlacesException wrap(@NonNull Exception exception) {
+        if (exception instanceof PlacesException) {
+            return (PlacesException) exception;
+        }
+        final String message = exception.getMessage() != null
+                ? exception.getMessage()
+                : exception.getClass().getName();
+        return new PlacesException(kindOf(exception), message, exception);
+    }
+
+
+    private static @NonNull PlacesException.Kind kindOf(@NonNull Exception exception) {
+        if (!(exception instanceof ApiException)) {
+            return PlacesException.kindOf(exception);
+        }
+
+        switch (((ApiException) exception).getStatusCode()) {
+            case PlacesStatusCodes.OVER_QUERY_LIMIT:
+                return PlacesException.Kind.THROTTLED;
+            case CommonStatusCodes.TIMEOUT:
+                return PlacesException.Kind.TIMEOUT;
+            case CommonStatusCodes.NETWORK_ERROR:
+            case CommonStatusCodes.INTERNAL_ERROR:
+            case CommonStatusCodes.INTERRUPTED:
+            case CommonStatusCodes.API_NOT_CONNECTED:
+            case CommonStatusCodes.RECONNECTION_TIMED_OUT:
+            case CommonStatusCodes.RECONNECTION_TIMED_OUT_DURING_UPDATE:
+                return PlacesException.Kind.TRANSIENT;
+            default:
+                // Invalid, denied or unknown requests, and misconfigured API keys.
+                return PlacesException.Kind.PERMANENT;
+        }
+    }
+
+}
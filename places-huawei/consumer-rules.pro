@@ -14,10 +14,6 @@
 # limitations under the License.
 #
 
--keep class dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.HuaweiPlacesFactory {
-    public static *** buildIfSupported(android.content.Context);
-}
-
 # https://developer.huawei.com/consumer/en/doc/development/HMSCore-Guides/android-sdk-config-obfuscation-scripts-0000001050158581
 -ignorewarnings
 -keepattributes *Annotation*
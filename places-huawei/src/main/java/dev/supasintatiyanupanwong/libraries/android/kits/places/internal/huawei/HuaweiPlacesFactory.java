@@ -33,50 +33,86 @@ import java.util.List;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.PlacesFactory;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net.HuaweiPlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net.HuaweiSearchService;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 
 @RestrictTo(LIBRARY)
-@SuppressWarnings("unused")
 public final class HuaweiPlacesFactory implements PlacesFactory {
 
+    private final @NonNull Context mContext;
     private final @NonNull String mApiKey;
 
-    private HuaweiPlacesFactory(@NonNull String apiKey) {
+    private HuaweiSearchService mService;
+
+    private HuaweiPlacesFactory(@NonNull Context context, @NonNull String apiKey) {
+        mContext = context.getApplicationContext() != null
+                ? context.getApplicationContext()
+                : context;
         mApiKey = apiKey;
     }
 
+    /**
+     * Returns a handle to the {@link HuaweiSearchService} of the application, which is shared by
+     * every client created by this factory.
+     */
     @Override
-    public @NonNull PlacesClient createClient(@NonNull Context context) {
-        return new HuaweiPlacesClient(context, mApiKey);
+    public @NonNull PlacesClient createClient(
+            @NonNull Context context, @NonNull PlacesClientSettings settings) {
+        return new HuaweiPlacesClient(getService(), settings);
     }
 
+    @Override
+    public @NonNull String getProviderName() {
+        return "huawei";
+    }
 
-    public static @Nullable PlacesFactory buildIfSupported(@NonNull Context context) {
-        final List<Integer> unavailableResults = Arrays.asList(
-                ConnectionResult.SERVICE_DISABLED,
-                ConnectionResult.SERVICE_MISSING,
-                ConnectionResult.SERVICE_INVALID);
-        final int result =
-                HuaweiApiAvailability.getInstance().isHuaweiMobileServicesAvailable(context);
-        if (unavailableResults.contains(result)) {
-            return null;
-        }
 
-        String apiKey;
-        try {
-            apiKey = Uri.encode(
-                    AGConnectServicesConfig.fromContext(context).getString("client/api_key"));
-        } catch (Exception ex) {
-            apiKey = null;
+    private synchronized @NonNull HuaweiSearchService getService() {
+        if (mService == null) {
+            mService = new HuaweiSearchService(mContext, mApiKey);
         }
+        return mService;
+    }
+
 
-        if (TextUtils.isEmpty(apiKey)) {
-            throw new NullPointerException("API key is not found in agconnect-services.json");
+    @SuppressWarnings("unused") // Discovered through ServiceLoader.
+    public static final class Provider implements PlacesFactory.Provider {
+        private static final int PRIORITY = 100;
+
+        @Override
+        public int getPriority() {
+            return PRIORITY;
         }
 
-        return new HuaweiPlacesFactory(apiKey);
+        @Override
+        public @Nullable PlacesFactory buildIfSupported(@NonNull Context context) {
+            final List<Integer> unavailableResults = Arrays.asList(
+                    ConnectionResult.SERVICE_DISABLED,
+                    ConnectionResult.SERVICE_MISSING,
+                    ConnectionResult.SERVICE_INVALID);
+            final int result =
+                    HuaweiApiAvailability.getInstance().isHuaweiMobileServicesAvailable(context);
+            if (unavailableResults.contains(result)) {
+                return null;
+            }
+
+            String apiKey;
+            try {
+                apiKey = Uri.encode(
+                        AGConnectServicesConfig.fromContext(context).getString("client/api_key"));
+            } catch (Exception ex) {
+                apiKey = null;
+            }
+
+            if (TextUtils.isEmpty(apiKey)) {
+                throw new NullPointerException("API key is not found in agconnect-services.json");
+            }
+
+            return new HuaweiPlacesFactory(context, apiKey);
+        }
     }
 
 }
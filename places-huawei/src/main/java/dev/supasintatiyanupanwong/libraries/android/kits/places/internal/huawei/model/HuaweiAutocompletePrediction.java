@@ -22,9 +22,9 @@ import androidx.annotation.RestrictTo;
 
 import com.huawei.hms.site.api.model.Site;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.LazyWrappingList;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
@@ -32,6 +32,14 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 @RestrictTo(LIBRARY)
 public class HuaweiAutocompletePrediction implements AutocompletePrediction {
 
+    private static final LazyWrappingList.Wrapper<Site, AutocompletePrediction> WRAPPER =
+            new LazyWrappingList.Wrapper<Site, AutocompletePrediction>() {
+                @Override
+                public @NonNull AutocompletePrediction wrap(@NonNull Site delegate) {
+                    return new HuaweiAutocompletePrediction(delegate);
+                }
+            };
+
     private final @NonNull Site mDelegate;
 
     private HuaweiAutocompletePrediction(@NonNull Site delegate) {
@@ -83,11 +91,7 @@ public class HuaweiAutocompletePrediction implements AutocompletePrediction {
     }
 
     public static @NonNull List<AutocompletePrediction> wrap(@NonNull List<Site> delegates) {
-        List<AutocompletePrediction> list = new ArrayList<>();
-        for (int iter = 0, size = delegates.size(); iter < size; iter++) {
-            list.add(HuaweiAutocompletePrediction.wrap(delegates.get(iter)));
-        }
-        return list;
+        return new LazyWrappingList<>(delegates, WRAPPER);
     }
 
 }
@@ -24,6 +24,7 @@ import com.huawei.hms.site.api.model.Coordinate;
 import com.huawei.hms.site.api.model.Site;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 
@@ -92,4 +93,25 @@ public class HuaweiPlace implements Place {
         return new HuaweiPlace(delegate);
     }
 
+    /**
+     * Returns a snapshot of the details the given site carries.
+     */
+    public static @NonNull PlaceSnapshot snapshot(@NonNull Site site) {
+        final PlaceSnapshot.Builder builder = new PlaceSnapshot.Builder();
+        if (site.getSiteId() != null) {
+            builder.setId(site.getSiteId());
+        }
+        if (site.getName() != null) {
+            builder.setName(site.getName());
+        }
+        if (site.getFormatAddress() != null) {
+            builder.setAddress(site.getFormatAddress());
+        }
+        final Coordinate coord = site.getLocation();
+        if (coord != null) {
+            builder.setLatLng(coord.getLat(), coord.getLng());
+        }
+        return builder.build();
+    }
+
 }
@@ -23,7 +23,9 @@ import androidx.annotation.RestrictTo;
 import com.huawei.hms.site.api.model.DetailSearchResponse;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.model.HuaweiPlace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceResponse;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
@@ -31,19 +33,17 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 @RestrictTo(LIBRARY)
 public class HuaweiFetchPlaceResponse implements FetchPlaceResponse {
 
-    private final @NonNull DetailSearchResponse mDelegate;
+    private final @Nullable DetailSearchResponse mDelegate;
+    private final @NonNull Place mPlace;
 
-    private @Nullable Place mPlace;
-
-    private HuaweiFetchPlaceResponse(@NonNull DetailSearchResponse delegate) {
+    private HuaweiFetchPlaceResponse(
+            @Nullable DetailSearchResponse delegate, @NonNull Place place) {
         mDelegate = delegate;
+        mPlace = place;
     }
 
     @Override
     public @NonNull Place getPlace() {
-        if (mPlace == null) {
-            mPlace = HuaweiPlace.wrap(mDelegate.getSite());
-        }
         return mPlace;
     }
 
@@ -58,22 +58,31 @@ public class HuaweiFetchPlaceResponse implements FetchPlaceResponse {
 
         HuaweiFetchPlaceResponse that = (HuaweiFetchPlaceResponse) obj;
 
-        return mDelegate.equals(that.mDelegate);
+        return mPlace.equals(that.mPlace);
     }
 
     @Override
     public int hashCode() {
-        return mDelegate.hashCode();
+        return mPlace.hashCode();
     }
 
     @Override
     public @NonNull String toString() {
-        return mDelegate.toString();
+        return mDelegate == null ? mPlace.toString() : mDelegate.toString();
     }
 
 
     public static @NonNull FetchPlaceResponse wrap(@NonNull DetailSearchResponse delegate) {
-        return new HuaweiFetchPlaceResponse(delegate);
+        final boolean traced = PlacesTrace.beginSection(PlacesTrace.WRAP_RESPONSE);
+        try {
+            return new HuaweiFetchPlaceResponse(delegate, HuaweiPlace.wrap(delegate.getSite()));
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+    }
+
+    public static @NonNull FetchPlaceResponse wrap(@NonNull PlaceSnapshot place) {
+        return new HuaweiFetchPlaceResponse(null, place);
     }
 
 }
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.List;
 
 import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.model.HuaweiAutocompletePrediction;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
 
@@ -37,21 +38,28 @@ public class HuaweiFindAutocompletePredictionsResponse implements
 
     private final @Nullable QuerySuggestionResponse mDelegate;
 
-    private @Nullable List<AutocompletePrediction> mAutocompletePredictions;
+    private final @NonNull List<AutocompletePrediction> mAutocompletePredictions;
 
     private HuaweiFindAutocompletePredictionsResponse(@Nullable QuerySuggestionResponse delegate) {
         mDelegate = delegate;
+
+        // Only the lazy view is created here, on the mapping executor. Each prediction is
+        // wrapped on first read, so the ones never shown are never wrapped.
+        if (delegate == null || delegate.getSites() == null) {
+            mAutocompletePredictions = Collections.emptyList();
+        } else {
+            final boolean traced = PlacesTrace.beginSection(PlacesTrace.WRAP_RESPONSE);
+            try {
+                mAutocompletePredictions =
+                        HuaweiAutocompletePrediction.wrap(delegate.getSites());
+            } finally {
+                PlacesTrace.endSection(traced);
+            }
+        }
     }
 
     @Override
     public @NonNull List<AutocompletePrediction> getAutocompletePredictions() {
-        if (mAutocompletePredictions == null) {
-            if (mDelegate == null || mDelegate.getSites() == null) {
-                mAutocompletePredictions = Collections.emptyList();
-            } else {
-                mAutocompletePredictions = HuaweiAutocompletePrediction.wrap(mDelegate.getSites());
-            }
-        }
         return mAutocompletePredictions;
     }
 
@@ -16,28 +16,28 @@
 
 package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net;
 
-import android.content.Context;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.huawei.hms.site.api.SearchResultListener;
-import com.huawei.hms.site.api.SearchService;
-import com.huawei.hms.site.api.SearchServiceFactory;
+import com.huawei.hms.site.api.model.DetailSearchRequest;
 import com.huawei.hms.site.api.model.DetailSearchResponse;
+import com.huawei.hms.site.api.model.QuerySuggestionRequest;
 import com.huawei.hms.site.api.model.QuerySuggestionResponse;
 import com.huawei.hms.site.api.model.SearchStatus;
 
-import java.io.IOException;
-
-import dev.supasintatiyanupanwong.libraries.android.kits.internal.huawei.tasks.MutableFuture;
-import dev.supasintatiyanupanwong.libraries.android.kits.internal.huawei.tasks.HuaweiTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.tasks.CompletableTask;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.util.PlacesTrace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceResponse;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClientSettings;
 import dev.supasintatiyanupanwong.libraries.android.kits.tasks.Task;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
@@ -45,59 +45,160 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 @RestrictTo(LIBRARY)
 public final class HuaweiPlacesClient implements PlacesClient {
 
-    private final SearchService mDelegate;
+    private final @NonNull HuaweiSearchService mService;
+    private final @NonNull PlacesClientSettings mSettings;
 
-    public HuaweiPlacesClient(@NonNull Context context, @NonNull String apiKey) {
-        mDelegate = SearchServiceFactory.create(context, apiKey);
+    public HuaweiPlacesClient(
+            @NonNull HuaweiSearchService service, @NonNull PlacesClientSettings settings) {
+        mService = service;
+        mSettings = settings;
     }
 
     @Override
     public @NonNull Task<FindAutocompletePredictionsResponse> findAutocompletePredictions(
             final @NonNull FindAutocompletePredictionsRequest request) {
-        final MutableFuture<FindAutocompletePredictionsResponse> future = new MutableFuture<>();
-
-        mDelegate.querySuggestion(
-                HuaweiFindAutocompletePredictionsRequest.unwrap(request),
-                new SearchResultListener<QuerySuggestionResponse>() {
-                    @Override
-                    public void onSearchResult(QuerySuggestionResponse response) {
-                        future.set(HuaweiFindAutocompletePredictionsResponse.wrap(response));
-                    }
-
-                    @Override
-                    public void onSearchError(SearchStatus status) {
-                        if (TextUtils.isEmpty(request.getQuery())) {
-                            // Empty query string will be treated as error by Huawei Site Kit.
-                            future.set(HuaweiFindAutocompletePredictionsResponse.wrap(null));
-                        } else {
-                            future.setException(new IOException(status.getErrorMessage()));
+        // Site Kit calls can't be canceled, so a canceled or timed out request completes right
+        // away, and the outcome of its call is dropped before anything is wrapped.
+        final CompletableTask<FindAutocompletePredictionsResponse> result =
+                new CompletableTask<FindAutocompletePredictionsResponse>()
+                        .cancelOn(request.getCancellationToken())
+                        .failAfter(mSettings.getTimeoutMillis(request));
+        if (result.isComplete()) {
+            return result;
+        }
+
+        final QuerySuggestionRequest unwrapped;
+        boolean traced = PlacesTrace.beginSection(PlacesTrace.UNWRAP_REQUEST);
+        try {
+            unwrapped = HuaweiFindAutocompletePredictionsRequest.unwrap(request);
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+
+        final int cookie = PlacesTrace.beginAsyncSection(PlacesTrace.FIND_AUTOCOMPLETE_PREDICTIONS);
+        traced = PlacesTrace.beginSection(PlacesTrace.CALL_SDK);
+        try {
+            mService.mDelegate.querySuggestion(
+                    unwrapped,
+                    new SearchResultListener<QuerySuggestionResponse>() {
+                        @Override
+                        public void onSearchResult(final QuerySuggestionResponse response) {
+                            PlacesTrace.endAsyncSection(
+                                    PlacesTrace.FIND_AUTOCOMPLETE_PREDICTIONS, cookie);
+                            if (result.isComplete()) {
+                                return;
+                            }
+                            mSettings.getMappingExecutor().execute(new Runnable() {
+                                @Override
+                                public void run() {
+                                    handleSuggestions(response, result);
+                                }
+                            });
+                        }
+
+                        @Override
+                        public void onSearchError(SearchStatus status) {
+                            PlacesTrace.endAsyncSection(
+                                    PlacesTrace.FIND_AUTOCOMPLETE_PREDICTIONS, cookie);
+                            if (result.isComplete()) {
+                                return;
+                            }
+                            if (TextUtils.isEmpty(request.getQuery())) {
+                                // Empty query string will be treated as error by Huawei Site Kit.
+                                result.trySetResult(
+                                        HuaweiFindAutocompletePredictionsResponse.wrap(null));
+                            } else {
+                                result.trySetException(HuaweiPlacesExceptions.wrap(status));
+                            }
                         }
-                    }
-                });
+                    });
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
 
-        return new HuaweiTask<>(future);
+        return result;
     }
 
     @Override
     public @NonNull
     Task<FetchPlaceResponse> fetchPlace(final @NonNull FetchPlaceRequest request) {
-        final MutableFuture<FetchPlaceResponse> future = new MutableFuture<>();
-
-        mDelegate.detailSearch(
-                HuaweiFetchPlaceRequest.unwrap(request),
-                new SearchResultListener<DetailSearchResponse>() {
-                    @Override
-                    public void onSearchResult(DetailSearchResponse response) {
-                        future.set(HuaweiFetchPlaceResponse.wrap(response));
-                    }
-
-                    @Override
-                    public void onSearchError(SearchStatus status) {
-                        future.setException(new IOException(status.getErrorMessage()));
-                    }
-                });
-
-        return new HuaweiTask<>(future);
+        final CompletableTask<FetchPlaceResponse> result =
+                new CompletableTask<FetchPlaceResponse>()
+                        .cancelOn(request.getCancellationToken())
+                        .failAfter(mSettings.getTimeoutMillis(request));
+        if (result.isComplete()) {
+            return result;
+        }
+
+        final PlaceSnapshot suggestedPlace = mService.getSuggestedPlace(request);
+        if (suggestedPlace != null) {
+            result.trySetResult(HuaweiFetchPlaceResponse.wrap(suggestedPlace));
+            return result;
+        }
+
+        final DetailSearchRequest unwrapped;
+        boolean traced = PlacesTrace.beginSection(PlacesTrace.UNWRAP_REQUEST);
+        try {
+            unwrapped = HuaweiFetchPlaceRequest.unwrap(request);
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+
+        final int cookie = PlacesTrace.beginAsyncSection(PlacesTrace.FETCH_PLACE);
+        traced = PlacesTrace.beginSection(PlacesTrace.CALL_SDK);
+        try {
+            mService.mDelegate.detailSearch(
+                    unwrapped,
+                    new SearchResultListener<DetailSearchResponse>() {
+                        @Override
+                        public void onSearchResult(final DetailSearchResponse response) {
+                            PlacesTrace.endAsyncSection(PlacesTrace.FETCH_PLACE, cookie);
+                            if (result.isComplete()) {
+                                return;
+                            }
+                            mSettings.getMappingExecutor().execute(new Runnable() {
+                                @Override
+                                public void run() {
+                                    if (!result.isComplete()) {
+                                        result.trySetResult(
+                                                HuaweiFetchPlaceResponse.wrap(response));
+                                    }
+                                }
+                            });
+                        }
+
+                        @Override
+                        public void onSearchError(SearchStatus status) {
+                            PlacesTrace.endAsyncSection(PlacesTrace.FETCH_PLACE, cookie);
+                            result.trySetException(HuaweiPlacesExceptions.wrap(status));
+                        }
+                    });
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Keeps the suggested sites for the fetches of their details, and completes the task with
+     * the wrapped suggestions, on the mapping executor.
+     */
+    private void handleSuggestions(@Nullable QuerySuggestionResponse response,
+            @NonNull CompletableTask<FindAutocompletePredictionsResponse> result) {
+        if (result.isComplete()) {
+            return;
+        }
+        final boolean traced = PlacesTrace.beginSection(PlacesTrace.HANDLE_SDK_RESULT);
+        try {
+            if (response != null && response.getSites() != null) {
+                mService.putSuggestedSites(response.getSites());
+            }
+            result.trySetResult(HuaweiFindAutocompletePredictionsResponse.wrap(response));
+        } finally {
+            PlacesTrace.endSection(traced);
+        }
     }
 
 }
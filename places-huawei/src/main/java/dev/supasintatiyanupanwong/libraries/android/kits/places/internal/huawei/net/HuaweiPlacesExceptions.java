@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.huawei.hms.site.api.model.SearchStatus;
+
+import java.util.Locale;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesException;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+
+/**
+ * Maps the {@link SearchStatus} errors of Site Kit to {@link PlacesException}s.
+ * <p>
+ * The kind of an error is found from the result code of Site Kit. Only codes this class doesn't
+ * know fall back to the status names found in the message, such as {@code OVER_QUERY_LIMIT}.
+ */
+@RestrictTo(LIBRARY)
+public final class HuaweiPlacesExceptions {
+
+    // Result codes of Site Kit.
+    private static final String ZERO_RESULTS = "010001";
+    private static final String OVER_QUERY_LIMIT = "010002";
+    private static final String REQUEST_DENIED = "010003";
+    private static final String INVALID_REQUEST = "010004";
+    private static final String UNKNOWN_ERROR = "010005";
+    private static final String NOT_FOUND = "010006";
+
+    private static final String[] THROTTLED_TOKENS = {
+            "QUERY_LIMIT", "QPS", "QUOTA", "TOO_MANY", "FREQUENT"
+    };
+    private static final String[] TRANSIENT_TOKENS = {
+            "NETWORK", "TIMEOUT", "TIME_OUT", "UNAVAILABLE", "INTERNAL", "SERVER", "UNKNOWN_ERROR"
+    };
+
+    private HuaweiPlacesExceptions() {}
+
+    public static @NonNull PlacesException wrap(@Nullable SearchStatus status) {
+        final String code = status != null ? status.getErrorCode() : null;
+        final String message = status != null ? status.getErrorMessage() : null;
+        final String description = message != null ? message : "Site Kit error " + code;
+        return new PlacesException(kindOf(code, description), description);
+    }
+
+
+    private static @NonNull PlacesException.Kind kindOf(
+            @Nullable String code, @NonNull String message) {
+        if (code != null) {
+            switch (code) {
+                case OVER_QUERY_LIMIT:
+                    return PlacesException.Kind.THROTTLED;
+                case UNKNOWN_ERROR:
+                    // A server error Site Kit asks to try again after.
+                    return PlacesException.Kind.TRANSIENT;
+                case ZERO_RESULTS:
+                case REQUEST_DENIED:
+                case INVALID_REQUEST:
+                case NOT_FOUND:
+                    return PlacesException.Kind.PERMANENT;
+                default:
+                    break;
+            }
+        }
+
+        final String normalized = message.toUpperCase(Locale.ROOT).replace(' ', '_');
+        if (containsAny(normalized, THROTTLED_TOKENS)) {
+            return PlacesException.Kind.THROTTLED;
+        }
+        if (containsAny(normalized, TRANSIENT_TOKENS)) {
+            return PlacesException.Kind.TRANSIENT;
+        }
+        // Invalid, denied or unmatched requests, and misconfigured API keys.
+        return PlacesException.Kind.PERMANENT;
+    }
+
+    private static boolean containsAny(@NonNull String text, @NonNull String[] tokens) {
+        for (String token : tokens) {
+            if (text.contains(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Supasin Tatiyanupanwong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.net;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.huawei.hms.site.api.SearchService;
+import com.huawei.hms.site.api.SearchServiceFactory;
+import com.huawei.hms.site.api.model.Site;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.supasintatiyanupanwong.libraries.android.kits.places.internal.huawei.model.HuaweiPlace;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.Place;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.model.PlaceSnapshot;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FetchPlaceRequest;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY;
+
+/**
+ * The {@link SearchService} of an application, along with the state shared by all of its
+ * {@link HuaweiPlacesClient} handles.
+ */
+@RestrictTo(LIBRARY)
+public final class HuaweiSearchService {
+
+    private static final int MAX_SUGGESTED_SITES = 50;
+
+    final @NonNull SearchService mDelegate;
+
+    // Sites returned by querySuggestion already carry the basic details of a place, so keep the
+    // recent ones around to answer the fetchPlace that usually follows without a detailSearch.
+    // Most suggestions are never fetched, so a site is only snapshotted once it is, after which
+    // the site itself, holding much more than a Place exposes, is let go.
+    private final Map<String, SuggestedPlace> mSuggestedPlaces =
+            new LinkedHashMap<String, SuggestedPlace>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SuggestedPlace> eldest) {
+                    return size() > MAX_SUGGESTED_SITES;
+                }
+            };
+
+    public HuaweiSearchService(@NonNull Context context, @NonNull String apiKey) {
+        mDelegate = SearchServiceFactory.create(context, apiKey);
+    }
+
+
+    void putSuggestedSites(@NonNull List<Site> sites) {
+        synchronized (mSuggestedPlaces) {
+            for (int iter = 0, size = sites.size(); iter < size; iter++) {
+                final Site site = sites.get(iter);
+                if (site != null && site.getSiteId() != null) {
+                    mSuggestedPlaces.put(site.getSiteId(), new SuggestedPlace(site));
+                }
+            }
+        }
+    }
+
+    @Nullable PlaceSnapshot getSuggestedPlace(@NonNull FetchPlaceRequest request) {
+        final SuggestedPlace suggested;
+        synchronized (mSuggestedPlaces) {
+            suggested = mSuggestedPlaces.get(request.getPlaceId());
+        }
+        final PlaceSnapshot place = suggested != null ? suggested.get() : null;
+
+        final List<Place.Field> placeFields = request.getPlaceFields();
+        if (place == null || placeFields == null || !place.hasFields(placeFields)) {
+            return null;
+        }
+        return place;
+    }
+
+
+    private static final class SuggestedPlace {
+        private @Nullable Site mSite;
+        private @Nullable PlaceSnapshot mSnapshot;
+
+        SuggestedPlace(@NonNull Site site) {
+            mSite = site;
+        }
+
+        synchronized @NonNull PlaceSnapshot get() {
+            if (mSnapshot == null) {
+                mSnapshot = HuaweiPlace.snapshot(mSite);
+                mSite = null;
+            }
+            return mSnapshot;
+        }
+    }
+
+}
@@ -17,8 +17,6 @@
 package dev.supasintatiyanupanwong.samples.android.kits.places;
 
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 
@@ -33,19 +31,19 @@ import java.util.List;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.PlaceKit;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.AutocompletePrediction;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.model.TypeFilter;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.AutocompleteSession;
 import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsRequest;
-import dev.supasintatiyanupanwong.libraries.android.kits.places.net.PlacesClient;
+import dev.supasintatiyanupanwong.libraries.android.kits.places.net.FindAutocompletePredictionsResponse;
 import dev.supasintatiyanupanwong.samples.android.kits.places.databinding.PlacePredictionsActivityBinding;
 
 public class PlacePredictionsActivity extends AppCompatActivity {
 
     private static final String TAG = PlacePredictionsActivity.class.getSimpleName();
 
-    private final @NonNull Handler mHandler = new Handler(Looper.getMainLooper());
     private final @NonNull PlacePredictionsAdapter mAdapter = new PlacePredictionsAdapter();
 
     private PlacePredictionsActivityBinding mBinding;
-    private PlacesClient mPlacesClient;
+    private AutocompleteSession mSession;
 
     public PlacePredictionsActivity() {
         super(R.layout.place_predictions_activity);
@@ -57,7 +55,33 @@ public class PlacePredictionsActivity extends AppCompatActivity {
 
         mBinding = PlacePredictionsActivityBinding.bind(findViewById(android.R.id.content));
 
-        mPlacesClient = PlaceKit.createClient(this);
+        mSession = new AutocompleteSession.Builder(
+                PlaceKit.createClient(this),
+                new AutocompleteSession.Callback() {
+                    @Override
+                    public void onPredictions(
+                            @NonNull FindAutocompletePredictionsRequest request,
+                            @NonNull FindAutocompletePredictionsResponse response) {
+                        List<AutocompletePrediction> predictions =
+                                response.getAutocompletePredictions();
+                        mBinding.progress.setIndeterminate(false);
+                        mBinding.error.setVisibility(View.INVISIBLE);
+                        mBinding.empty.setVisibility(
+                                predictions.isEmpty() ? View.VISIBLE : View.INVISIBLE);
+                        mAdapter.setPredictions(predictions);
+                    }
+
+                    @Override
+                    public void onError(
+                            @NonNull FindAutocompletePredictionsRequest request,
+                            @NonNull Exception exception) {
+                        mBinding.progress.setIndeterminate(false);
+                        mBinding.error.setVisibility(View.VISIBLE);
+                        mAdapter.setPredictions(null);
+                        Log.e(TAG, Log.getStackTraceString(exception));
+                    }
+                })
+                .build();
 
         mBinding.toolbar.setTitle("Place Kit Sample");
         mBinding.toolbar.inflateMenu(R.menu.place_predictions_menu);
@@ -78,13 +102,7 @@ public class PlacePredictionsActivity extends AppCompatActivity {
 
             @Override
             public boolean onQueryTextChange(final String newText) {
-                mBinding.progress.setIndeterminate(true);
-
-                // Cancel any previous place prediction requests
-                mHandler.removeCallbacksAndMessages(null);
-
-                // Start a new place prediction request in 300 ms
-                mHandler.postDelayed(() -> getPlacePredictions(newText), 300);
+                getPlacePredictions(newText);
                 return true;
             }
         });
@@ -96,8 +114,16 @@ public class PlacePredictionsActivity extends AppCompatActivity {
                 new DividerItemDecoration(this, layoutManager.getOrientation()));
     }
 
+    @Override
+    protected void onDestroy() {
+        mSession.cancel();
+        super.onDestroy();
+    }
+
     private void getPlacePredictions(String query) {
         if (query == null || query.isEmpty()) {
+            mSession.cancel();
+
             mBinding.progress.setIndeterminate(false);
             mBinding.hint.setVisibility(View.VISIBLE);
             mBinding.empty.setVisibility(View.INVISIBLE);
@@ -108,33 +134,14 @@ public class PlacePredictionsActivity extends AppCompatActivity {
             return;
         }
 
+        mBinding.progress.setIndeterminate(true);
         mBinding.hint.setVisibility(View.INVISIBLE);
 
-        final FindAutocompletePredictionsRequest newRequest =
+        mSession.findAutocompletePredictions(
                 new FindAutocompletePredictionsRequest.Builder()
                         .setTypeFilter(TypeFilter.ESTABLISHMENT)
                         .setQuery(query)
                         .setCountry("US")
-                        .build();
-
-        mPlacesClient.findAutocompletePredictions(newRequest)
-                .addOnSuccessListener(result -> {
-                    List<AutocompletePrediction> predictions = result == null
-                            ? null
-                            : result.getAutocompletePredictions();
-                    mBinding.error.setVisibility(View.INVISIBLE);
-                    mBinding.empty.setVisibility(
-                            (predictions == null || predictions.isEmpty())
-                                    ? View.VISIBLE
-                                    : View.INVISIBLE
-                    );
-                    mAdapter.setPredictions(predictions);
-                })
-                .addOnFailureListener(exception -> {
-                    mBinding.error.setVisibility(View.VISIBLE);
-                    mAdapter.setPredictions(null);
-                    Log.e(TAG, Log.getStackTraceString(exception));
-                })
-                .addOnCompleteListener(task -> mBinding.progress.setIndeterminate(false));
+                        .build());
     }
 }